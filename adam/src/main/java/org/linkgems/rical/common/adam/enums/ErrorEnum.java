@@ -24,6 +24,13 @@ public enum ErrorEnum {
     // 2*** 系统异常
     SYSTEM_ERROR("2001", "服务异常"),
     UNKNOWN_ERROR("2002", "未知异常"),
+    CIRCUIT_BREAKER_OPEN("2003", "服务熔断"),
+    CONCURRENCY_LIMIT_ERROR("2004", "服务并发超限"),
+    SINGLE_FLIGHT_TIMEOUT("2005", "合并调用等待超时"),
+    DEADLINE_EXCEEDED("2006", "请求已超时"),
+    LOAD_SHED("2007", "服务过载，请求被丢弃"),
+    CONSUMER_QUOTA_EXCEEDED("2008", "上游应用超出调用配额"),
+    BATCH_TIMEOUT("2009", "批量合并等待超时"),
 
     // 3*** 业务异常
     XXX("3001", "业务异常"),
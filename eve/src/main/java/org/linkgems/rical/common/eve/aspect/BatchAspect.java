@@ -0,0 +1,170 @@
+package org.linkgems.rical.common.eve.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.component.stat.MethodStatRegistry;
+import org.linkgems.rical.common.eve.component.deadline.DeadlineContext;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.dto.BatchDetail;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @description: 批量合并切片，位于合并调用切片内层、限流切片外层。单条调用不再执行被注解方法，
+ * 内层切片（限流、重试、对冲、熔断）应标注在批量方法上；批量方法优先通过代理调用，使其自身的切片生效
+ * @author: meidanlong
+ * @date: 2026/10/17 4:43 AM
+ */
+@Slf4j
+@Order(AspectOrderConstant.BATCH)
+@Aspect
+@Component
+public class BatchAspect implements DisposableBean {
+
+    private static final long STOP_TIMEOUT_MILLIS = 3000L;
+
+    /**
+     * 方法 -> 批量合并元数据，每个方法只解析一次
+     */
+    private final Map<Method, BatchDetail> batchDetailCache = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private MethodStatRegistry methodStatRegistry;
+
+    /**
+     * 批量调用线程数上限，首次出现@Batch方法时才创建线程池
+     */
+    @Value("${rical.batch.executor-threads:16}")
+    private int executorThreads;
+
+    /**
+     * 批量调用线程都忙时的排队上限，队列也满时整批以CONCURRENCY_LIMIT_ERROR失败
+     */
+    @Value("${rical.batch.queue-size:1024}")
+    private int queueSize;
+
+    private volatile ExecutorService batchExecutor;
+    private volatile ScheduledExecutorService batchScheduler;
+
+    @Pointcut("@annotation(org.linkgems.rical.common.eve.domain.annotation.Batch)")
+    public void pointCut() {
+    }
+
+    @Around("pointCut()")
+    public Object pointCut(ProceedingJoinPoint joinPoint) throws Throwable {
+        BatchDetail batchDetail = getBatchDetail(joinPoint);
+        initExecutors();
+        Object proxy = joinPoint.getThis();
+        Object target = batchDetail.getBulkMethod().getDeclaringClass().isInstance(proxy) ? proxy : joinPoint.getTarget();
+        CompletableFuture<Object> future = batchDetail.getBatcher().submit(target, joinPoint.getArgs()[0], batchScheduler, batchExecutor);
+        if (batchDetail.isAsync()) {
+            return future;
+        }
+        long timeoutMs = batchDetail.getTimeoutMs() > 0 ? batchDetail.getTimeoutMs() : Long.MAX_VALUE;
+        long remainingMillis = DeadlineContext.remainingMillis();
+        boolean deadlineBound = remainingMillis <= timeoutMs;
+        try {
+            if (deadlineBound && remainingMillis <= 0) {
+                throw new TimeoutException();
+            }
+            long waitMillis = Math.min(timeoutMs, remainingMillis);
+            return waitMillis == Long.MAX_VALUE ? future.get() : future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("{}{} wait for batch timeout - timeoutMs={}, deadlineBound={}", LogMarkConstant.LOG_ERROR_MARK, batchDetail.getClassMethodName(), batchDetail.getTimeoutMs(), deadlineBound);
+            throw new BaseException(deadlineBound ? ErrorEnum.DEADLINE_EXCEEDED : ErrorEnum.BATCH_TIMEOUT);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BaseException(ErrorEnum.SYSTEM_ERROR, "wait for batch interrupted", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof BaseException) {
+                // 保留错误码，异常栈为调用方自身的调用栈
+                throw new BaseException(((BaseException) cause).getCode(), cause.getMessage());
+            }
+            throw new BaseException("batch with exception: " + cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        ScheduledExecutorService scheduler = batchScheduler;
+        ExecutorService executor = batchExecutor;
+        if (scheduler != null) {
+            // 已定时的窗口在shutdown后仍会到期封批，之后再停止批量调用线程池
+            scheduler.shutdown();
+            scheduler.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            executor.shutdown();
+            executor.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void initExecutors() {
+        if (batchScheduler != null) {
+            return;
+        }
+        synchronized (this) {
+            if (batchScheduler != null) {
+                return;
+            }
+            AtomicInteger threadIndex = new AtomicInteger();
+            int threads = Math.max(executorThreads, 1);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(Math.max(queueSize, 1)), runnable -> {
+                Thread thread = new Thread(runnable, "rical-batch-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            batchExecutor = executor;
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "rical-batch-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            batchScheduler = scheduler;
+        }
+    }
+
+    private BatchDetail getBatchDetail(ProceedingJoinPoint joinPoint) {
+        // 通过joinPoint获取被注解方法
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        BatchDetail batchDetail = batchDetailCache.get(method);
+        if (batchDetail == null) {
+            batchDetail = batchDetailCache.computeIfAbsent(method, this::populateBatchDetail);
+        }
+        return batchDetail;
+    }
+
+    private BatchDetail populateBatchDetail(Method method) {
+        try {
+            return BatchDetail.of(method, methodStatRegistry);
+        } catch (RuntimeException ex) {
+            log.error("{}[BatchAspect#populateBatchDetail] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.linkgems.rical.common.eve.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.linkgems.rical.common.eve.component.cache.WTinyLfuCache;
+import org.linkgems.rical.common.eve.component.context.CallContext;
+import org.linkgems.rical.common.eve.component.log.LogSuppression;
+import org.linkgems.rical.common.eve.component.stat.MethodStatRegistry;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.dto.CacheDetail;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @description: 方法结果缓存切片，位于日志切片内层、限流切片外层：命中不占用限流许可，
+ * 同时标注@Log时按配置跳过命中调用的成功日志
+ * @author: meidanlong
+ * @date: 2026/10/17 4:38 AM
+ */
+@Slf4j
+@Order(AspectOrderConstant.CACHE)
+@Aspect
+@Component
+public class CacheAspect implements DisposableBean {
+
+    private static final long STOP_TIMEOUT_MILLIS = 3000L;
+
+    /**
+     * 方法 -> 缓存元数据，每个方法只解析一次
+     */
+    private final Map<Method, CacheDetail> cacheDetailCache = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private MethodStatRegistry methodStatRegistry;
+
+    /**
+     * 提前刷新的线程数，首次需要刷新时才创建线程池；队列满时放弃本次刷新
+     */
+    @Value("${rical.cache.refresh-threads:2}")
+    private int refreshThreads;
+
+    private volatile ExecutorService refreshExecutor;
+
+    @Pointcut("@annotation(org.linkgems.rical.common.eve.domain.annotation.LocalCache)")
+    public void pointCut() {
+    }
+
+    @Around("pointCut()")
+    public Object pointCut(ProceedingJoinPoint joinPoint) throws Throwable {
+        CacheDetail cacheDetail = getCacheDetail(joinPoint);
+        WTinyLfuCache<Object, Object> cache = cacheDetail.getCache();
+        Object key = cacheDetail.keyOf(joinPoint.getTarget(), joinPoint.getArgs());
+        WTinyLfuCache.Node<Object, Object> node = cache.getNode(key);
+        if (node != null) {
+            if (cache.tryStartRefresh(node)) {
+                refresh(joinPoint, cacheDetail, key, node);
+            }
+            if (cacheDetail.isSuppressLogOnHit()) {
+                LogSuppression.suppress();
+            }
+            Object value = node.getValue() == CacheDetail.NULL_VALUE ? null : node.getValue();
+            return cacheDetail.isAsync() ? CompletableFuture.completedFuture(value) : value;
+        }
+        Object result = joinPoint.proceed();
+        if (cacheDetail.isAsync() && result != null) {
+            ((CompletionStage<?>) result).whenComplete((value, th) -> {
+                if (th == null) {
+                    store(cacheDetail, key, value);
+                }
+            });
+        } else {
+            store(cacheDetail, key, result);
+        }
+        return result;
+    }
+
+    private void store(CacheDetail cacheDetail, Object key, Object value) {
+        if (value != null) {
+            cacheDetail.getCache().put(key, value);
+        } else if (cacheDetail.isCacheNull()) {
+            cacheDetail.getCache().put(key, CacheDetail.NULL_VALUE);
+        }
+    }
+
+    private void refresh(ProceedingJoinPoint joinPoint, CacheDetail cacheDetail, Object key, WTinyLfuCache.Node<Object, Object> node) {
+        WTinyLfuCache<Object, Object> cache = cacheDetail.getCache();
+        // 刷新在调用方的上下文（含RpcContext attachment）中回源
+        CallContext callContext = CallContext.capture();
+        Runnable task = () -> {
+            boolean success = false;
+            try (CallContext.Scope ignored = callContext.attach()) {
+                Object result = joinPoint.proceed();
+                if (cacheDetail.isAsync() && result != null) {
+                    result = ((CompletionStage<?>) result).toCompletableFuture().get();
+                }
+                store(cacheDetail, key, result);
+                success = true;
+            } catch (Throwable th) {
+                log.warn("{}{} refresh failed, keep the stale value - exception={}", LogMarkConstant.LOG_ERROR_MARK, cacheDetail.getClassMethodName(), th.getMessage());
+            } finally {
+                cache.refreshed(node, success);
+            }
+        };
+        try {
+            getRefreshExecutor().execute(task);
+        } catch (RejectedExecutionException ex) {
+            cache.refreshed(node, false);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        ExecutorService executor = refreshExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private ExecutorService getRefreshExecutor() {
+        ExecutorService executor = refreshExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = refreshExecutor;
+                if (executor == null) {
+                    AtomicInteger threadIndex = new AtomicInteger();
+                    int threads = Math.max(refreshThreads, 1);
+                    executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024), runnable -> {
+                        Thread thread = new Thread(runnable, "rical-cache-refresh-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    refreshExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private CacheDetail getCacheDetail(ProceedingJoinPoint joinPoint) {
+        // 通过joinPoint获取被注解方法
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CacheDetail cacheDetail = cacheDetailCache.get(method);
+        if (cacheDetail == null) {
+            cacheDetail = cacheDetailCache.computeIfAbsent(method, this::populateCacheDetail);
+        }
+        return cacheDetail;
+    }
+
+    private CacheDetail populateCacheDetail(Method method) {
+        try {
+            return CacheDetail.of(method, methodStatRegistry);
+        } catch (RuntimeException ex) {
+            log.error("{}[CacheAspect#populateCacheDetail] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.linkgems.rical.common.eve.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.component.breaker.CircuitBreakerRegistry;
+import org.linkgems.rical.common.eve.component.breaker.CircuitBreakerStateMachine;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.dto.CircuitBreakerDetail;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * @description: 熔断切片，位于重试切片内层，每次重试都单独计数。
+ * 同时标注@Retry时调用失败不降级，原样抛给重试切片，降级只用于熔断拒绝
+ * @author: meidanlong
+ * @date: 2026/10/17 4:29 AM
+ */
+@Slf4j
+@Order(AspectOrderConstant.CIRCUIT_BREAKER)
+@Aspect
+@Component
+public class CircuitBreakerAspect implements InitializingBean {
+
+    /**
+     * 方法 -> 熔断元数据，每个方法只解析一次
+     */
+    private final Map<Method, CircuitBreakerDetail> circuitBreakerDetailCache = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (circuitBreakerRegistry == null) {
+            circuitBreakerRegistry = new CircuitBreakerRegistry();
+        }
+    }
+
+    @Pointcut("@annotation(org.linkgems.rical.common.eve.domain.annotation.CircuitBreaker)")
+    public void pointCut() {
+    }
+
+    @Around("pointCut()")
+    public Object pointCut(ProceedingJoinPoint joinPoint) throws Throwable {
+        CircuitBreakerDetail circuitBreakerDetail = getCircuitBreakerDetail(joinPoint);
+        CircuitBreakerStateMachine breaker = circuitBreakerDetail.getBreaker();
+        CircuitBreakerStateMachine.Phase admitted = breaker.tryAcquire();
+        if (admitted == null) {
+            BaseException rejection = new BaseException(ErrorEnum.CIRCUIT_BREAKER_OPEN, String.format("circuit breaker %s is %s", breaker.getName(), breaker.getState()));
+            return fallback(joinPoint, circuitBreakerDetail, rejection);
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable th) {
+            boolean failure = circuitBreakerDetail.isFailure(th);
+            breaker.onResult(admitted, System.nanoTime() - start, failure);
+            // 不计为失败的异常（如参数校验）是调用方需要感知的结果，不降级
+            if (!failure || !circuitBreakerDetail.isFallbackOnFailure()) {
+                throw th;
+            }
+            return fallback(joinPoint, circuitBreakerDetail, th);
+        }
+        if (circuitBreakerDetail.isAsync() && result != null) {
+            ((CompletionStage<?>) result).whenComplete((value, th) ->
+                    breaker.onResult(admitted, System.nanoTime() - start, th != null && circuitBreakerDetail.isFailure(unwrap(th))));
+        } else {
+            breaker.onResult(admitted, System.nanoTime() - start, false);
+        }
+        return result;
+    }
+
+    /**
+     * 执行降级方法，未配置时抛出原异常
+     */
+    private Object fallback(ProceedingJoinPoint joinPoint, CircuitBreakerDetail circuitBreakerDetail, Throwable cause) throws Throwable {
+        Method fallback = circuitBreakerDetail.getFallback();
+        if (fallback == null) {
+            throw cause;
+        }
+        Object[] args = joinPoint.getArgs();
+        if (circuitBreakerDetail.isFallbackWithCause()) {
+            args = Arrays.copyOf(args, args.length + 1);
+            args[args.length - 1] = cause;
+        }
+        try {
+            return fallback.invoke(joinPoint.getTarget(), args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private CircuitBreakerDetail getCircuitBreakerDetail(ProceedingJoinPoint joinPoint) {
+        // 通过joinPoint获取被注解方法
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CircuitBreakerDetail circuitBreakerDetail = circuitBreakerDetailCache.get(method);
+        if (circuitBreakerDetail == null) {
+            circuitBreakerDetail = circuitBreakerDetailCache.computeIfAbsent(method, this::populateCircuitBreakerDetail);
+        }
+        return circuitBreakerDetail;
+    }
+
+    private CircuitBreakerDetail populateCircuitBreakerDetail(Method method) {
+        try {
+            return CircuitBreakerDetail.of(method, circuitBreakerRegistry);
+        } catch (RuntimeException ex) {
+            // 配置错误不应被静默吞掉，每次调用都抛出直到修正
+            log.error("{}[CircuitBreakerAspect#populateCircuitBreakerDetail] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+
+    private static Throwable unwrap(Throwable th) {
+        while ((th instanceof CompletionException || th instanceof ExecutionException) && th.getCause() != null) {
+            th = th.getCause();
+        }
+        return th;
+    }
+}
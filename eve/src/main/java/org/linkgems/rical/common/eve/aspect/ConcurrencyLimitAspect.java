@@ -0,0 +1,59 @@
+package org.linkgems.rical.common.eve.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.component.limiter.AdaptiveConcurrencyLimiter;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @description: provider/controller入口的自适应并发限制，超出当前上限的请求直接快速失败。
+ * 位于入口上下文、过载丢弃与上游配额内层，日志等切片外层，被拒绝的请求不再经过日志等切片。eve自身的controller（健康检查、统计）不受限制
+ * @author: meidanlong
+ * @date: 2026/10/17 4:33 AM
+ */
+@Order(AspectOrderConstant.CONCURRENCY_LIMIT)
+@Aspect
+@Component
+public class ConcurrencyLimitAspect {
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    @Pointcut("org.linkgems.rical.common.eve.aspect.ProviderAspect.providerMethod() && !within(org.linkgems.rical.common.eve.controller..*)")
+    public void entryMethod() {
+    }
+
+    @Around("entryMethod()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!adaptiveConcurrencyLimiter.isEnabled() || ProviderAspect.isNestedEntry()) {
+            return joinPoint.proceed();
+        }
+        if (!adaptiveConcurrencyLimiter.tryAcquire()) {
+            throw new BaseException(ErrorEnum.CONCURRENCY_LIMIT_ERROR);
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable th) {
+            adaptiveConcurrencyLimiter.release(System.nanoTime() - start);
+            throw th;
+        }
+        // 异步provider在future完成时才归还许可
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, th) -> adaptiveConcurrencyLimiter.release(System.nanoTime() - start));
+        } else {
+            adaptiveConcurrencyLimiter.release(System.nanoTime() - start);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package org.linkgems.rical.common.eve.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.component.limiter.ConsumerQuota;
+import org.linkgems.rical.common.eve.component.limiter.ConsumerQuotaLimiter;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.linkgems.rical.common.eve.utils.ThreadLocalUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @description: provider入口按上游应用的配额限制。位于过载丢弃内层、并发限制外层：超出自身配额的请求不占用全局并发许可。
+ * 没有consumerAppKey的请求（非rical上游、HTTP）、嵌套入口与eve自身的controller不受限制
+ * @author: meidanlong
+ * @date: 2026/10/17 5:05 AM
+ */
+@Order(AspectOrderConstant.CONSUMER_QUOTA)
+@Aspect
+@Component
+public class ConsumerQuotaAspect {
+
+    @Autowired
+    private ConsumerQuotaLimiter consumerQuotaLimiter;
+
+    @Pointcut("org.linkgems.rical.common.eve.aspect.ProviderAspect.providerMethod() && !within(org.linkgems.rical.common.eve.controller..*)")
+    public void entryMethod() {
+    }
+
+    @Around("entryMethod()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!consumerQuotaLimiter.isEnabled() || ProviderAspect.isNestedEntry()) {
+            return joinPoint.proceed();
+        }
+        String consumer = ThreadLocalUtil.get(ThreadLocalUtil.CONSUMER_APP_KEY);
+        if (consumer == null) {
+            return joinPoint.proceed();
+        }
+        ConsumerQuota quota = consumerQuotaLimiter.quotaOf(consumer);
+        ConsumerQuota.Rejection rejection = quota.tryAcquire();
+        if (rejection != null) {
+            throw new BaseException(ErrorEnum.CONSUMER_QUOTA_EXCEEDED,
+                    ErrorEnum.CONSUMER_QUOTA_EXCEEDED.getMessage() + " - consumer=" + consumer + ", quota=" + rejection.name().toLowerCase());
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable th) {
+            quota.release(System.nanoTime() - start);
+            throw th;
+        }
+        // 异步provider在future完成时才归还配额
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, th) -> quota.release(System.nanoTime() - start));
+        } else {
+            quota.release(System.nanoTime() - start);
+        }
+        return result;
+    }
+}
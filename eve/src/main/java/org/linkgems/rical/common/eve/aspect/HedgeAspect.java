@@ -0,0 +1,160 @@
+package org.linkgems.rical.common.eve.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.linkgems.rical.common.eve.component.hedge.HedgePolicy;
+import org.linkgems.rical.common.eve.component.hedge.HedgedCall;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.dto.HedgeDetail;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @description: 对冲切片，位于重试切片内层、熔断切片外层，两次调用都会经过熔断器计数
+ * @author: meidanlong
+ * @date: 2026/10/17 4:35 AM
+ */
+@Slf4j
+@Order(AspectOrderConstant.HEDGE)
+@Aspect
+@Component
+public class HedgeAspect implements DisposableBean {
+
+    private static final long STOP_TIMEOUT_MILLIS = 3000L;
+
+    /**
+     * 方法 -> 对冲元数据，每个方法只解析一次
+     */
+    private final Map<Method, HedgeDetail> hedgeDetailCache = new ConcurrentHashMap<>();
+
+    /**
+     * 同步方法的调用线程数上限，首次出现@Hedge方法时才创建线程池
+     */
+    @Value("${rical.hedge.executor-threads:64}")
+    private int executorThreads;
+
+    private volatile ExecutorService hedgeExecutor;
+    private volatile ScheduledExecutorService hedgeScheduler;
+
+    @Pointcut("@annotation(org.linkgems.rical.common.eve.domain.annotation.Hedge)")
+    public void pointCut() {
+    }
+
+    @Around("pointCut()")
+    public Object pointCut(ProceedingJoinPoint joinPoint) throws Throwable {
+        HedgeDetail hedgeDetail = getHedgeDetail(joinPoint);
+        HedgePolicy policy = hedgeDetail.getPolicy();
+        policy.onCall();
+        long delayNanos = policy.getDelayNanos();
+        if (delayNanos < 0) {
+            // 样本不足，只记录耗时
+            return proceed(joinPoint, hedgeDetail);
+        }
+        initExecutors();
+        HedgedCall call = new HedgedCall(joinPoint, policy, hedgeDetail.isAsync() ? null : hedgeExecutor);
+        CompletableFuture<Object> promise = call.start(hedgeScheduler, delayNanos);
+        if (hedgeDetail.isAsync()) {
+            return promise;
+        }
+        try {
+            return promise.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (InterruptedException ex) {
+            call.cancel();
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint, HedgeDetail hedgeDetail) throws Throwable {
+        long start = System.nanoTime();
+        Object result = joinPoint.proceed();
+        if (hedgeDetail.isAsync() && result != null) {
+            ((CompletionStage<?>) result).whenComplete((value, th) -> {
+                if (th == null) {
+                    hedgeDetail.getPolicy().record(System.nanoTime() - start);
+                }
+            });
+        } else {
+            hedgeDetail.getPolicy().record(System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        ScheduledExecutorService scheduler = hedgeScheduler;
+        ExecutorService executor = hedgeExecutor;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            executor.shutdownNow();
+            scheduler.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            executor.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void initExecutors() {
+        if (hedgeScheduler != null) {
+            return;
+        }
+        synchronized (this) {
+            if (hedgeScheduler != null) {
+                return;
+            }
+            AtomicInteger threadIndex = new AtomicInteger();
+            hedgeExecutor = new ThreadPoolExecutor(0, Math.max(executorThreads, 1), 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "rical-hedge-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "rical-hedge-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            hedgeScheduler = scheduler;
+        }
+    }
+
+    private HedgeDetail getHedgeDetail(ProceedingJoinPoint joinPoint) {
+        // 通过joinPoint获取被注解方法
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        HedgeDetail hedgeDetail = hedgeDetailCache.get(method);
+        if (hedgeDetail == null) {
+            hedgeDetail = hedgeDetailCache.computeIfAbsent(method, this::populateHedgeDetail);
+        }
+        return hedgeDetail;
+    }
+
+    private HedgeDetail populateHedgeDetail(Method method) {
+        try {
+            return HedgeDetail.of(method);
+        } catch (RuntimeException ex) {
+            log.error("{}[HedgeAspect#populateHedgeDetail] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.linkgems.rical.common.eve.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.dubbo.rpc.RpcContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.component.shed.ArrivalTime;
+import org.linkgems.rical.common.eve.component.shed.CoDelLoadShedder;
+import org.linkgems.rical.common.eve.domain.annotation.ShedPriority;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description: provider/controller入口的过载丢弃，按排队时长（CoDel）丢弃已排队过久的请求。
+ * 位于入口上下文内层、并发限制外层：被丢弃的请求不占用并发许可，拒绝时的traceId仍可用于排查。嵌套入口与eve自身的controller（健康检查、统计）不参与丢弃
+ * @author: meidanlong
+ * @date: 2026/10/17 5:03 AM
+ */
+@Slf4j
+@Order(AspectOrderConstant.LOAD_SHED)
+@Aspect
+@Component
+public class LoadShedAspect {
+
+    private static final String DUBBO_SOURCE = "dubbo";
+    private static final String HTTP_SOURCE = "http";
+
+    @Autowired
+    private CoDelLoadShedder coDelLoadShedder;
+
+    /**
+     * 方法 -> 丢弃优先级，每个方法只解析一次
+     */
+    private final Map<Method, ShedPriority.Level> priorityCache = new ConcurrentHashMap<>();
+
+    @Pointcut("org.linkgems.rical.common.eve.aspect.ProviderAspect.providerMethod() && !within(org.linkgems.rical.common.eve.controller..*)")
+    public void entryMethod() {
+    }
+
+    @Around("entryMethod()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!coDelLoadShedder.isEnabled() || ProviderAspect.isNestedEntry()) {
+            return joinPoint.proceed();
+        }
+        // 时钟偏差属于发出时间的那台机器，同一上游应用的各机器偏差不同，按对端地址分别扣除基线
+        String source;
+        RpcContext rpcContext = RpcContext.getContext();
+        long arrivalTime = ArrivalTime.dubboSendTime(rpcContext);
+        if (arrivalTime >= 0) {
+            source = rpcContext.getRemoteHost();
+            if (source == null) {
+                source = DUBBO_SOURCE;
+            }
+        } else {
+            arrivalTime = ArrivalTime.httpRequestStart();
+            source = ArrivalTime.httpRemoteAddr();
+            if (source == null) {
+                source = HTTP_SOURCE;
+            }
+        }
+        if (!coDelLoadShedder.tryAdmit(source, arrivalTime, getPriority(joinPoint))) {
+            throw new BaseException(ErrorEnum.LOAD_SHED);
+        }
+        return joinPoint.proceed();
+    }
+
+    private ShedPriority.Level getPriority(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        ShedPriority.Level level = priorityCache.get(method);
+        if (level == null) {
+            level = priorityCache.computeIfAbsent(method, this::populatePriority);
+        }
+        return level;
+    }
+
+    private ShedPriority.Level populatePriority(Method method) {
+        try {
+            ShedPriority priority = AnnotationUtils.findAnnotation(method, ShedPriority.class);
+            if (priority == null) {
+                priority = AnnotationUtils.findAnnotation(method.getDeclaringClass(), ShedPriority.class);
+            }
+            return priority == null ? ShedPriority.Level.NORMAL : priority.value();
+        } catch (RuntimeException ex) {
+            log.error("{}[LoadShedAspect#populatePriority] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+}
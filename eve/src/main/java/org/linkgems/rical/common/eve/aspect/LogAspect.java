@@ -1,8 +1,6 @@
 package org.linkgems.rical.common.eve.aspect;
 
 import cn.hutool.json.JSONUtil;
-import lombok.Getter;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.util.Strings;
@@ -12,20 +10,33 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.linkgems.rical.common.adam.domain.BaseException;
-import org.linkgems.rical.common.eve.domain.annotation.Log;
-import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+import org.linkgems.rical.common.eve.component.log.AsyncLogDispatcher;
+import org.linkgems.rical.common.eve.component.log.BinaryLogFormat;
+import org.linkgems.rical.common.eve.component.log.BinaryLogSink;
+import org.linkgems.rical.common.eve.component.log.BoundedJsonRenderer;
+import org.linkgems.rical.common.eve.component.log.CallTree;
+import org.linkgems.rical.common.eve.component.log.LogEvent;
+import org.linkgems.rical.common.eve.component.log.LogSuppression;
+import org.linkgems.rical.common.eve.component.log.SlowCallSampler;
+import org.linkgems.rical.common.eve.component.stat.MethodStatRegistry;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
 import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
-import org.springframework.core.DefaultParameterNameDiscoverer;
-import org.springframework.core.Ordered;
+import org.linkgems.rical.common.eve.domain.dto.LogDetail;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -34,12 +45,126 @@ import java.util.stream.Collectors;
  * @date: 2022/11/27 5:05 PM
  */
 @Slf4j
-@Order(Ordered.HIGHEST_PRECEDENCE)
+@Order(AspectOrderConstant.LOG)
 @Aspect
 @Component
-public class LogAspect {
+public class LogAspect implements InitializingBean, DisposableBean {
 
     private final static String TRACE_TEMP = "%s#%s#%d";
+    private final static long STOP_TIMEOUT_MILLIS = 3000L;
+    private final static String RESULT_ROOT = "result";
+    /**
+     * 调用树只属于当前线程，不放入ThreadLocalUtil，避免被上下文快照带到异步任务中并发读写
+     */
+    private final static ThreadLocal<CallTree> CALL_TREE = new ThreadLocal<>();
+
+    /**
+     * 方法元数据缓存，每个方法只解析一次
+     */
+    private final Map<Method, LogDetail> logDetailCache = new ConcurrentHashMap<>();
+
+    @Value("${rical.log.async.enabled:false}")
+    private boolean asyncEnabled;
+    @Value("${rical.log.async.buffer-size:8192}")
+    private int asyncBufferSize;
+    @Value("${rical.log.async.overflow-policy:DROP}")
+    private String asyncOverflowPolicy;
+    @Value("${rical.log.async.sample-rate:10}")
+    private int asyncSampleRate;
+    @Value("${rical.log.async.snapshot:false}")
+    private boolean asyncSnapshot;
+    @Value("${rical.log.call-tree.enabled:false}")
+    private boolean callTreeEnabled;
+    @Value("${rical.log.binary.enabled:false}")
+    private boolean binaryEnabled;
+    @Value("${rical.log.binary.dir:logs/binary}")
+    private String binaryDir;
+    @Value("${rical.log.binary.segment-size-mb:64}")
+    private int binarySegmentSizeMb;
+    @Value("${rical.log.binary.max-segments:16}")
+    private int binaryMaxSegments;
+    @Value("${rical.log.binary.payload-bytes:0}")
+    private int binaryPayloadBytes;
+    @Value("${rical.log.binary.replace-text:true}")
+    private boolean binaryReplaceText;
+    @Value("${rical.log.profile.enabled:false}")
+    private boolean profileEnabled;
+    @Value("${rical.log.profile.threshold-ms:500}")
+    private long profileThresholdMs;
+    @Value("${rical.log.profile.interval-ms:20}")
+    private long profileIntervalMs;
+    @Value("${rical.log.profile.max-concurrent:8}")
+    private int profileMaxConcurrent;
+    @Value("${rical.log.profile.max-frames:32}")
+    private int profileMaxFrames;
+    @Value("${rical.log.stat.enabled:true}")
+    private boolean statEnabled;
+    @Value("${rical.log.render.max-length:8192}")
+    private int renderMaxLength;
+    @Value("${rical.log.render.max-elements:50}")
+    private int renderMaxElements;
+    @Value("${rical.log.render.max-string-length:2048}")
+    private int renderMaxStringLength;
+    @Value("${rical.log.render.max-depth:8}")
+    private int renderMaxDepth;
+
+    @Autowired(required = false)
+    private MethodStatRegistry methodStatRegistry;
+
+    /**
+     * 慢调用栈采样器，未启用时为null
+     */
+    private SlowCallSampler slowCallSampler;
+
+    /**
+     * 二进制日志输出，未启用时为null
+     */
+    private BinaryLogSink binaryLogSink;
+
+    /**
+     * 入参/出参渲染器
+     */
+    private BoundedJsonRenderer jsonRenderer;
+
+    /**
+     * 异步模式下的日志分发器，同步模式为null
+     */
+    private AsyncLogDispatcher asyncLogDispatcher;
+
+    @Override
+    public void afterPropertiesSet() {
+        jsonRenderer = new BoundedJsonRenderer(renderMaxLength, renderMaxElements, renderMaxStringLength, renderMaxDepth);
+        if (asyncEnabled) {
+            asyncLogDispatcher = new AsyncLogDispatcher(asyncBufferSize, AsyncLogDispatcher.OverflowPolicy.of(asyncOverflowPolicy), asyncSampleRate, this::render);
+            asyncLogDispatcher.start();
+            log.info("{}[LogAspect] - async log enabled, bufferSize={}, overflowPolicy={}", LogMarkConstant.LOG_INFO_MARK, asyncBufferSize, asyncOverflowPolicy);
+        }
+        if (profileEnabled) {
+            slowCallSampler = new SlowCallSampler(profileThresholdMs, profileIntervalMs, profileMaxConcurrent, profileMaxFrames);
+            slowCallSampler.start();
+        }
+        if (binaryEnabled) {
+            try {
+                binaryLogSink = new BinaryLogSink(binaryDir, binarySegmentSizeMb << 20, binaryMaxSegments, binaryPayloadBytes);
+                log.info("{}[LogAspect] - binary log enabled, dir={}", LogMarkConstant.LOG_INFO_MARK, binaryDir);
+            } catch (IOException e) {
+                log.error("{}[LogAspect] - binary log disabled, exception={}", LogMarkConstant.LOG_ERROR_MARK, e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (asyncLogDispatcher != null) {
+            asyncLogDispatcher.stop(STOP_TIMEOUT_MILLIS);
+        }
+        if (slowCallSampler != null) {
+            slowCallSampler.stop();
+        }
+        if (binaryLogSink != null) {
+            binaryLogSink.close();
+        }
+    }
 
     @Pointcut("@annotation(org.linkgems.rical.common.eve.domain.annotation.Log)")
     public void pointCut() {
@@ -47,23 +172,52 @@ public class LogAspect {
 
     @Around("pointCut()")
     public Object pointCut(ProceedingJoinPoint joinPoint) throws Throwable {
-        LogDetail logDetail = populateLogDetail(joinPoint);
-        String classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, logDetail.getClazz(), logDetail.getMethod());
-        // 初始化计时器
-        StopWatch timer = new StopWatch();
-        timer.start(Thread.currentThread().getId() + "_" + classMethodName + "_" + System.currentTimeMillis());
+        LogDetail logDetail = getLogDetail(joinPoint);
+        // 入参按引用持有，仅在真正打印时序列化；声明snapshotArgs的方法在执行前固化
+        Object[] args = joinPoint.getArgs();
+        String argsSnapshot = logDetail.isSnapshotArgs() ? getArgsStr(logDetail, args) : null;
+        // 调用树模式下，最外层调用创建调用树，嵌套调用挂在其下
+        CallTree callTree = null;
+        boolean treeRoot = false;
+        int treeNode = -1;
+        if (callTreeEnabled) {
+            callTree = CALL_TREE.get();
+            if (callTree == null) {
+                callTree = new CallTree();
+                CALL_TREE.set(callTree);
+                treeRoot = true;
+            }
+            treeNode = callTree.enter(logDetail);
+        }
+        SlowCallSampler.Slot profileSlot = slowCallSampler != null ? slowCallSampler.begin() : null;
+        long start = System.nanoTime();
         try {
             // 执行业务逻辑
             Object result = joinPoint.proceed();
-            timer.stop();
-            if (!logDetail.getOnlyOnError()) {
-                postLog(logDetail, classMethodName, timer, result);
+            long costNanos = System.nanoTime() - start;
+            // 内层切片要求不输出成功日志，如命中缓存
+            boolean suppressed = LogSuppression.consume();
+            String profile = endProfile(profileSlot);
+            logDetail.record(costNanos, true);
+            exitCallTree(callTree, treeNode, costNanos, true);
+            if (binaryLogSink != null) {
+                appendBinary(logDetail, costNanos, null, args);
+                if (binaryReplaceText && profile == null) {
+                    return result;
+                }
+            }
+            // 嵌套调用的成功日志合并到最外层记录中
+            if ((callTree != null && !treeRoot) || (suppressed && profile == null)) {
+                return result;
+            }
+            long cost = TimeUnit.NANOSECONDS.toMillis(costNanos);
+            // 采样判断先于任何序列化，被栈采样的慢调用始终打印
+            if (log.isInfoEnabled() && (profile != null || logDetail.shouldLogSuccess(cost))) {
+                emit(LogEvent.success(logDetail, cost, args, argsSnapshot, result, callTree, profile));
             }
             return result;
         } catch (BaseException bex) {
-            timer.stop();
-            log.info("{}{} - {} - cost={}ms : businessException={}, check the error.log - params={}", LogMarkConstant.LOG_ERROR_MARK, classMethodName, logDetail.getDesc(), timer.getLastTaskTimeMillis(), bex.getMessage(), getObjectStr(logDetail.args));
-            log.error("{}{} - {} : {} - params={}", LogMarkConstant.LOG_ERROR_MARK, classMethodName, logDetail.getDesc(), getObjectStr(logDetail.args), bex);
+            onFailure(logDetail, System.nanoTime() - start, args, argsSnapshot, bex, callTree, treeRoot, treeNode, profileSlot);
             Throwable cause = bex.getCause();
             if (cause != null) {
                 throw cause;
@@ -71,56 +225,141 @@ public class LogAspect {
                 throw bex;
             }
         } catch (Exception ex) {
-            timer.stop();
-            log.info("{}{} - {} - cost={}ms : exception={}, check the error.log - params={}", LogMarkConstant.LOG_ERROR_MARK, classMethodName, logDetail.getDesc(), timer.getLastTaskTimeMillis(), ex.getMessage(), getObjectStr(logDetail.args));
-            log.error("{}{} - {} : {} - params={}, trace={}", LogMarkConstant.LOG_ERROR_MARK, classMethodName, logDetail.getDesc(), ex.getMessage(), getObjectStr(logDetail.args), ex);
+            onFailure(logDetail, System.nanoTime() - start, args, argsSnapshot, ex, callTree, treeRoot, treeNode, profileSlot);
             throw ex;
+        } catch (Throwable th) {
+            // Error同样要结束栈采样与调用树节点，否则采样槽位与线程深度泄漏
+            onFailure(logDetail, System.nanoTime() - start, args, argsSnapshot, th, callTree, treeRoot, treeNode, profileSlot);
+            throw th;
+        } finally {
+            if (treeRoot) {
+                CALL_TREE.remove();
+            }
+        }
+    }
+
+    private void onFailure(LogDetail logDetail, long costNanos, Object[] args, String argsSnapshot, Throwable th,
+                           CallTree callTree, boolean treeRoot, int treeNode, SlowCallSampler.Slot profileSlot) {
+        String profile = endProfile(profileSlot);
+        logDetail.record(costNanos, false);
+        exitCallTree(callTree, treeNode, costNanos, false);
+        if (binaryLogSink != null) {
+            appendBinary(logDetail, costNanos, th, args);
+        }
+        // 失败日志始终单独输出，调用树仅附在最外层记录上
+        emit(LogEvent.failure(logDetail, TimeUnit.NANOSECONDS.toMillis(costNanos), args, argsSnapshot, th, treeRoot ? callTree : null, profile));
+    }
+
+    private String endProfile(SlowCallSampler.Slot profileSlot) {
+        return profileSlot == null ? null : slowCallSampler.end(profileSlot);
+    }
+
+    private void exitCallTree(CallTree callTree, int treeNode, long costNanos, boolean success) {
+        if (callTree != null) {
+            callTree.exit(treeNode, costNanos, success);
+        }
+    }
+
+    /**
+     * 写入二进制日志，失败不影响业务
+     */
+    private void appendBinary(LogDetail logDetail, long costNanos, Throwable th, Object[] args) {
+        try {
+            byte outcome = BinaryLogFormat.OUTCOME_SUCCESS;
+            String errorCode = null;
+            if (th instanceof BaseException) {
+                outcome = BinaryLogFormat.OUTCOME_BUSINESS_EXCEPTION;
+                errorCode = ((BaseException) th).getCode();
+            } else if (th != null) {
+                outcome = BinaryLogFormat.OUTCOME_EXCEPTION;
+                errorCode = th.getClass().getSimpleName();
+            }
+            byte[] payload = binaryLogSink.getMaxPayloadBytes() > 0 ? renderArgs(logDetail, args).getBytes(StandardCharsets.UTF_8) : null;
+            binaryLogSink.append(logDetail.getMethodId(), System.currentTimeMillis(), costNanos, outcome, errorCode, payload);
+        } catch (Exception e) {
+            log.error("{}[LogAspect.appendBinary] - exception={}", LogMarkConstant.LOG_ERROR_MARK, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 输出日志事件，异步模式下交给渲染线程
+     *
+     * @param event
+     */
+    private void emit(LogEvent event) {
+        if (asyncLogDispatcher != null) {
+            // 默认按引用入队，序列化留给渲染线程；声明snapshotArgs的方法或全局开启snapshot时在入队前固化入参与出参，避免返回后被修改
+            boolean snapshot = asyncSnapshot || event.getLogDetail().isSnapshotArgs();
+            asyncLogDispatcher.publish(snapshot ? detach(event) : event);
+        } else {
+            render(event);
+        }
+    }
+
+    private LogEvent detach(LogEvent event) {
+        String argsStr = !event.isSuccess() ? resolveArgsStr(event)
+                : event.getArgsSnapshot() != null ? event.getArgsSnapshot() : getArgsStr(event.getLogDetail(), event.getArgs());
+        String resultStr = event.isSuccess() ? getResultStr(event.getLogDetail(), event.getResult()) : null;
+        return event.detach(argsStr, resultStr);
+    }
+
+    private void render(LogEvent event) {
+        if (event.isSuccess()) {
+            postLog(event);
+        } else {
+            errorLog(event);
         }
     }
 
-    private void postLog(LogDetail logDetail, String classMethodName, StopWatch timer, Object result) {
+    private void errorLog(LogEvent event) {
+        LogDetail logDetail = event.getLogDetail();
+        String classMethodName = logDetail.getClassMethodName();
+        String argsStr = resolveArgsStr(event);
+        Throwable th = event.getThrowable();
+        if (th instanceof BaseException) {
+            log.info("{}{} - {} - cost={}ms : businessException={}, check the error.log - params={}{}", LogMarkConstant.LOG_ERROR_MARK, classMethodName, logDetail.getDesc(), event.getCost(), th.getMessage(), argsStr, getExtraStr(event));
+            log.error("{}{} - {} : {} - params={}", LogMarkConstant.LOG_ERROR_MARK, classMethodName, logDetail.getDesc(), argsStr, th);
+        } else {
+            log.info("{}{} - {} - cost={}ms : exception={}, check the error.log - params={}{}", LogMarkConstant.LOG_ERROR_MARK, classMethodName, logDetail.getDesc(), event.getCost(), th.getMessage(), argsStr, getExtraStr(event));
+            log.error("{}{} - {} : {} - params={}, trace={}", LogMarkConstant.LOG_ERROR_MARK, classMethodName, logDetail.getDesc(), th.getMessage(), argsStr, th);
+        }
+    }
+
+    private void postLog(LogEvent event) {
+        LogDetail logDetail = event.getLogDetail();
+        String classMethodName = logDetail.getClassMethodName();
         try {
-            log.info("{}{} - {} - cost={}ms : result={}, params={}", LogMarkConstant.LOG_INFO_RETURN_MARK, classMethodName, logDetail.getDesc(), timer.getLastTaskTimeMillis(), getObjectStr(result), getObjectStr(logDetail.args));
+            String argsStr = resolveSuccessArgsStr(event);
+            String resultStr = event.getResultSnapshot() != null ? event.getResultSnapshot() : renderResult(logDetail, event.getResult());
+            log.info("{}{} - {} - cost={}ms : result={}, params={}{}", LogMarkConstant.LOG_INFO_RETURN_MARK, classMethodName, logDetail.getDesc(), event.getCost(), resultStr, argsStr, getExtraStr(event));
         } catch (Exception ex) {
-            log.info("{}{} - {} - cost={}ms : can not get result or params, exception={}, check the error.log", LogMarkConstant.LOG_INFO_RETURN_MARK, classMethodName, logDetail.getDesc(), timer.getLastTaskTimeMillis(), ex.getMessage());
+            log.info("{}{} - {} - cost={}ms : can not get result or params, exception={}, check the error.log", LogMarkConstant.LOG_INFO_RETURN_MARK, classMethodName, logDetail.getDesc(), event.getCost(), ex.getMessage());
             log.error("{}[LogAspect.postLog] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
         } catch (Error err) {
-            log.info("{}{} - {} - cost={}ms : can not get result or params, error={}, check the error.log", LogMarkConstant.LOG_INFO_RETURN_MARK, classMethodName, logDetail.getDesc(), timer.getLastTaskTimeMillis(), err.getMessage());
+            log.info("{}{} - {} - cost={}ms : can not get result or params, error={}, check the error.log", LogMarkConstant.LOG_INFO_RETURN_MARK, classMethodName, logDetail.getDesc(), event.getCost(), err.getMessage());
             log.error("{}[LogAspect.postLog] - error={}", LogMarkConstant.LOG_ERROR_MARK, err.getMessage(), err);
         }
     }
 
-    private LogDetail populateLogDetail(ProceedingJoinPoint joinPoint) {
-        LogDetail logDetail = new LogDetail();
+    /**
+     * 获取方法元数据，命中缓存时无锁
+     *
+     * @param joinPoint
+     * @return
+     */
+    private LogDetail getLogDetail(ProceedingJoinPoint joinPoint) {
+        // 通过joinPoint获取被注解方法
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        LogDetail logDetail = logDetailCache.get(method);
+        if (logDetail == null) {
+            logDetail = logDetailCache.computeIfAbsent(method, this::populateLogDetail);
+        }
+        return logDetail;
+    }
+
+    private LogDetail populateLogDetail(Method method) {
         try {
-            // 通过joinPoint获取被注解方法
-            MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-            // 1、获取注解参数值
-            Log log = methodSignature.getMethod().getAnnotation(Log.class);
-            String logDescription = log.description();
-            if (StringUtils.isBlank(logDescription)) {
-                logDescription = log.value();
-                if (StringUtils.isBlank(logDescription)) {
-                    logDescription = Strings.EMPTY;
-                }
-            }
-            logDetail.setDesc(logDescription);
-            // 2、获取方法/类
-            Method method = methodSignature.getMethod();
-            logDetail.setMethod(method.getName());
-            logDetail.setClazz(method.getDeclaringClass().getSimpleName());
-            // 3、获取参数值
-            Map<String, Object> argMap = new HashMap<>();
-            Object[] args = joinPoint.getArgs();
-            //获取运行时参数的名称
-            DefaultParameterNameDiscoverer discoverer = new DefaultParameterNameDiscoverer();
-            String[] parameterNames = discoverer.getParameterNames(method);
-            for (int i = 0; i < parameterNames.length; i++) {
-                argMap.put(parameterNames[i], args[i]);
-            }
-            logDetail.setArgs(getObjectStr(argMap));
-            // 4、是否打印
-            logDetail.setOnlyOnError(log.onlyOnError());
+            return LogDetail.of(method, statEnabled ? methodStatRegistry : null, binaryLogSink);
         } catch (Exception ex) {
             log.info("{}[LogAspect.populateLogDetail] - exception={}, check the error.log", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage());
             log.error("{}[LogAspect.populateLogDetail] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
@@ -128,7 +367,42 @@ public class LogAspect {
             log.info("{}[LogAspect.populateLogDetail] - error={}, check the error.log", LogMarkConstant.LOG_ERROR_MARK, err.getMessage());
             log.error("{}[LogAspect.populateLogDetail] - error={}", LogMarkConstant.LOG_ERROR_MARK, err.getMessage(), err);
         }
-        return logDetail;
+        return LogDetail.unknown();
+    }
+
+    /**
+     * 异常路径的入参字符串，日志级别均关闭时不序列化
+     */
+    private String resolveArgsStr(LogEvent event) {
+        if (event.getArgsSnapshot() != null) {
+            return event.getArgsSnapshot();
+        }
+        if (!log.isInfoEnabled() && !log.isErrorEnabled()) {
+            return null;
+        }
+        return getArgsStr(event.getLogDetail(), event.getArgs());
+    }
+
+    private String resolveSuccessArgsStr(LogEvent event) {
+        return event.getArgsSnapshot() != null ? event.getArgsSnapshot() : renderArgs(event.getLogDetail(), event.getArgs());
+    }
+
+    private String getResultStr(LogDetail logDetail, Object result) {
+        try {
+            return renderResult(logDetail, result);
+        } catch (Exception ex) {
+            log.error("{}[LogAspect.getResultStr] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            return "unknownResult";
+        }
+    }
+
+    private String getArgsStr(LogDetail logDetail, Object[] args) {
+        try {
+            return renderArgs(logDetail, args);
+        } catch (Exception ex) {
+            log.error("{}[LogAspect.getArgsStr] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            return "unknownArgs";
+        }
     }
 
     @Deprecated
@@ -141,17 +415,31 @@ public class LogAspect {
         return Strings.EMPTY;
     }
 
-    private String getObjectStr(Object obj) {
-        return JSONUtil.toJsonStr(obj);
+    /**
+     * 调用树与慢调用栈汇总，均没有时为空串
+     */
+    private String getExtraStr(LogEvent event) {
+        if (event.getTraceId() == null && event.getCallTree() == null && event.getProfile() == null) {
+            return Strings.EMPTY;
+        }
+        StringBuilder sb = new StringBuilder();
+        if (event.getTraceId() != null) {
+            sb.append(", traceId=").append(event.getTraceId());
+        }
+        if (event.getCallTree() != null) {
+            sb.append(", tree=").append(event.getCallTree().render());
+        }
+        if (event.getProfile() != null) {
+            sb.append(", profile=").append(event.getProfile());
+        }
+        return sb.toString();
+    }
+
+    private String renderResult(LogDetail logDetail, Object result) {
+        return jsonRenderer.render(result, RESULT_ROOT, logDetail.getPathFilter());
     }
 
-    @Getter
-    @Setter
-    class LogDetail {
-        private String clazz = "unknownClass";
-        private String method = "unknownMethod";
-        private String args = "unknownArgs";
-        private String desc = "unknownDesc";
-        private Boolean onlyOnError = false;
+    private String renderArgs(LogDetail logDetail, Object[] args) {
+        return jsonRenderer.renderArgs(logDetail.getParameterNames(), args, logDetail.getPathFilter());
     }
 }
@@ -1,27 +1,53 @@
 package org.linkgems.rical.common.eve.aspect;
 
 import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.rpc.RpcContext;
-import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.linkgems.rical.common.eve.component.deadline.DeadlineContext;
+import org.linkgems.rical.common.eve.component.trace.TraceContext;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.constant.TraceConstant;
 import org.linkgems.rical.common.eve.utils.ThreadLocalUtil;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 
 /**
- * @description:
+ * @description: 入口上下文切片，位于所有切片最外层。每次调用在独立的上下文作用域中执行，
+ * 无论正常返回还是抛出异常都恢复进入前的上下文，线程池复用线程时不会残留或串用appKey；
+ * 入口处确定traceId并开启span，写入上下文、MDC与RpcContext attachment，结束时恢复attachment；接收上游截止时间，已超时的请求直接拒绝
  * @author: meidanlong
  * @date: 2022/1/21 2:13 PM
  */
+@Slf4j
+@Order(AspectOrderConstant.PROVIDER)
 @Aspect
 @Configuration
-public class ProviderAspect {
+public class ProviderAspect implements InitializingBean {
+
+    private static final String PROVIDER_APP_KEY = "providerAppKey";
+    private static final String CONSUMER_APP_KEY = "consumerAppKey";
+
+    /**
+     * 入口写入RpcContext的attachment
+     */
+    private static final String[] ENTRY_ATTACHMENTS = {PROVIDER_APP_KEY, CONSUMER_APP_KEY, TraceConstant.TRACE_ID, TraceConstant.SPAN_ID};
 
     @Value("${dubbo.application.id}")
     private String appKey;
 
+    /**
+     * JDK支持时使用ScopedValue承载上下文，适合大量短生命周期线程（如虚拟线程）
+     */
+    @Value("${rical.context.scoped-value.enabled:false}")
+    private boolean scopedValueEnabled;
+
     /**
      * RPC包拦截
      * <p>
@@ -39,18 +65,74 @@ public class ProviderAspect {
     public void providerMethod() {
     }
 
-    @Before("providerMethod()")
-    public void before() {
-        String consumerAppKey = RpcContext.getContext().getAttachment("providerAppKey");
-        if (StrUtil.isNotEmpty(consumerAppKey)) {
-            RpcContext.getContext().setAttachment("consumerAppKey", consumerAppKey);
+    @Override
+    public void afterPropertiesSet() {
+        if (scopedValueEnabled && !ThreadLocalUtil.enableScopedValue()) {
+            log.warn("{}ScopedValue is not available on this JDK, fall back to ThreadLocal context", LogMarkConstant.LOG_ERROR_MARK);
+        }
+    }
+
+    @Around("providerMethod()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        return ThreadLocalUtil.callInScope(() -> {
+            RpcContext rpcContext = RpcContext.getContext();
+            String[] previousAttachments = saveAttachments(rpcContext);
+            try {
+                before();
+                try (TraceContext.MdcScope ignored = TraceContext.bindMdc()) {
+                    return joinPoint.proceed();
+                }
+            } finally {
+                restoreAttachments(rpcContext, previousAttachments);
+            }
+        });
+    }
+
+    /**
+     * HTTP线程上的RpcContext不会被Dubbo重置，入口写入的attachment须在结束时恢复，否则会带到同一线程的下一个请求
+     */
+    private static String[] saveAttachments(RpcContext rpcContext) {
+        String[] values = new String[ENTRY_ATTACHMENTS.length];
+        for (int i = 0; i < ENTRY_ATTACHMENTS.length; i++) {
+            values[i] = rpcContext.getAttachment(ENTRY_ATTACHMENTS[i]);
+        }
+        return values;
+    }
+
+    private static void restoreAttachments(RpcContext rpcContext, String[] values) {
+        for (int i = 0; i < ENTRY_ATTACHMENTS.length; i++) {
+            if (values[i] == null) {
+                rpcContext.removeAttachment(ENTRY_ATTACHMENTS[i]);
+            } else {
+                rpcContext.setAttachment(ENTRY_ATTACHMENTS[i], values[i]);
+            }
         }
-        RpcContext.getContext().setAttachment("providerAppKey", this.appKey);
-        ThreadLocalUtil.set("appKey", this.appKey);
     }
 
-    @AfterReturning("providerMethod()")
-    public void afterReturning() {
-        ThreadLocalUtil.removeThreadLocal();
+    /**
+     * 是否为嵌套入口，如controller在进程内调用provider bean。入口级的丢弃、配额与并发限制只在最外层入口生效
+     *
+     * @return
+     */
+    public static boolean isNestedEntry() {
+        Integer depth = ThreadLocalUtil.get(ThreadLocalUtil.ENTRY_DEPTH);
+        return depth != null && depth > 1;
+    }
+
+    private void before() {
+        Integer depth = ThreadLocalUtil.get(ThreadLocalUtil.ENTRY_DEPTH);
+        ThreadLocalUtil.set(ThreadLocalUtil.ENTRY_DEPTH, depth == null ? 1 : depth + 1);
+        RpcContext rpcContext = RpcContext.getContext();
+        // 只认Dubbo provider端收到的上游appKey；HTTP线程与嵌套入口上的是本应用自己写入的值
+        String consumerAppKey = rpcContext.isProviderSide() ? rpcContext.getAttachment(PROVIDER_APP_KEY) : null;
+        if (StrUtil.isNotEmpty(consumerAppKey) && !consumerAppKey.equals(this.appKey)) {
+            rpcContext.setAttachment(CONSUMER_APP_KEY, consumerAppKey);
+            ThreadLocalUtil.set(ThreadLocalUtil.CONSUMER_APP_KEY, consumerAppKey);
+        }
+        rpcContext.setAttachment(PROVIDER_APP_KEY, this.appKey);
+        ThreadLocalUtil.set(ThreadLocalUtil.APP_KEY, this.appKey);
+        TraceContext.begin(RpcContext.getContext());
+        // 上游已超时的请求不再处理
+        DeadlineContext.accept(RpcContext.getContext());
     }
 }
@@ -0,0 +1,69 @@
+package org.linkgems.rical.common.eve.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.dto.RateLimitDetail;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description: 限流切片，位于重试切片外层，一次调用无论重试几次只占用一个许可
+ * @author: meidanlong
+ * @date: 2026/10/17 4:30 AM
+ */
+@Slf4j
+@Order(AspectOrderConstant.RATE_LIMIT)
+@Aspect
+@Component
+public class RateLimitAspect {
+
+    /**
+     * 方法 -> 限流元数据，每个方法只解析一次
+     */
+    private final Map<Method, RateLimitDetail> rateLimitDetailCache = new ConcurrentHashMap<>();
+
+    @Pointcut("@annotation(org.linkgems.rical.common.eve.domain.annotation.RateLimit)")
+    public void pointCut() {
+    }
+
+    @Around("pointCut()")
+    public Object pointCut(ProceedingJoinPoint joinPoint) throws Throwable {
+        RateLimitDetail rateLimitDetail = getRateLimitDetail(joinPoint);
+        if (!rateLimitDetail.tryAcquire(joinPoint.getTarget(), joinPoint.getArgs())) {
+            throw new BaseException(ErrorEnum.RATE_LIMIT_ERROR, rateLimitDetail.getClassMethodName() + " rate limited");
+        }
+        return joinPoint.proceed();
+    }
+
+    private RateLimitDetail getRateLimitDetail(ProceedingJoinPoint joinPoint) {
+        // 通过joinPoint获取被注解方法
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RateLimitDetail rateLimitDetail = rateLimitDetailCache.get(method);
+        if (rateLimitDetail == null) {
+            rateLimitDetail = rateLimitDetailCache.computeIfAbsent(method, this::populateRateLimitDetail);
+        }
+        return rateLimitDetail;
+    }
+
+    private RateLimitDetail populateRateLimitDetail(Method method) {
+        try {
+            return RateLimitDetail.of(method);
+        } catch (RuntimeException ex) {
+            // 配置错误不应被静默吞掉，每次调用都抛出直到修正
+            log.error("{}[RateLimitAspect#populateRateLimitDetail] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+}
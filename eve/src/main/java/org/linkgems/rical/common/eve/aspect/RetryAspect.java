@@ -1,7 +1,5 @@
 package org.linkgems.rical.common.eve.aspect;
 
-import lombok.Getter;
-import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -10,14 +8,27 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.linkgems.rical.common.adam.domain.BaseException;
-import org.linkgems.rical.common.eve.domain.annotation.Retry;
-import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+import org.linkgems.rical.common.eve.component.deadline.DeadlineContext;
+import org.linkgems.rical.common.eve.component.retry.AsyncRetry;
+import org.linkgems.rical.common.eve.component.retry.RetryBudget;
+import org.linkgems.rical.common.eve.component.retry.RetryStat;
+import org.linkgems.rical.common.eve.component.stat.MethodStatRegistry;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
 import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.dto.RetryDetail;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @description:重试切片
@@ -25,78 +36,149 @@ import java.util.concurrent.TimeUnit;
  * @date: 2022/11/27 5:05 PM
  */
 @Slf4j
-@Order(2)
+@Order(AspectOrderConstant.RETRY)
 @Aspect
 @Component
-public class RetryAspect {
+public class RetryAspect implements DisposableBean {
+
+    private static final long STOP_TIMEOUT_MILLIS = 3000L;
 
     @Pointcut("@annotation(org.linkgems.rical.common.eve.domain.annotation.Retry)")
     public void pointCut() {
     }
 
+    /**
+     * 方法 -> 重试元数据，每个方法只解析一次
+     */
+    private final Map<Method, RetryDetail> retryDetailCache = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private MethodStatRegistry methodStatRegistry;
+
+    /**
+     * 异步重试的延时调度线程数，首次出现异步@Retry方法时才创建
+     */
+    @Value("${rical.retry.scheduler-threads:2}")
+    private int schedulerThreads;
+
+    private volatile ScheduledExecutorService retryScheduler;
+
     @Around("pointCut()")
     public Object pointCut(ProceedingJoinPoint joinPoint) throws Throwable {
-        RetryDetail retryDetail = populateRetryDetail(joinPoint);
-        String classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, retryDetail.getClazz(), retryDetail.getMethod());
+        RetryDetail retryDetail = getRetryDetail(joinPoint);
+        if (retryDetail.isAsync()) {
+            return new AsyncRetry(joinPoint, retryDetail, getRetryScheduler()).start();
+        }
+        String classMethodName = retryDetail.getClassMethodName();
+        RetryStat retryStat = retryDetail.getStat();
+        RetryBudget retryBudget = retryDetail.getBudget();
         int totalRetryTimes = retryDetail.getTotalRetryTimes();
+        Long deadline = DeadlineContext.current();
         int retryTimes = 0;
-        while (retryTimes++ <= totalRetryTimes) {
+        long delay = 0L;
+        while (true) {
+            long attemptStart = System.currentTimeMillis();
             try {
+                retryStat.attempt();
                 // 执行业务逻辑
                 Object result = joinPoint.proceed();
+                if (retryBudget != null) {
+                    retryBudget.deposit();
+                }
                 return result;
             } catch (Exception e) {
                 if (totalRetryTimes == 0) {
                     throw e;
                 }
+                if (RetryDetail.isNonRetryable(e)) {
+                    retryStat.finalFailure();
+                    log.error("{}{} non-retryable exception, give up after retry {} times - code={}", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes, ((BaseException) e).getCode());
+                    throw e;
+                }
                 if (retryTimes == totalRetryTimes) {
+                    retryStat.finalFailure();
                     log.error("{}{} still got exception after retry {} times", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes);
                     throw new BaseException("retry with exception: " + e.getMessage(), e.getCause());
                 }
-                log.info("{}{} sth. wrong, attempt to retry {} times", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes);
+                long nextDelay = retryDetail.nextDelay(retryTimes + 1, delay);
+                // 以本次尝试的耗时估计下一次尝试，截止时间前完成不了就不再重试
+                if (!DeadlineContext.fits(deadline, nextDelay, System.currentTimeMillis() - attemptStart)) {
+                    retryStat.deadlineRejection();
+                    retryStat.finalFailure();
+                    log.error("{}{} not enough time before deadline, give up after retry {} times", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes);
+                    throw new BaseException("retry with exception: " + e.getMessage(), e.getCause());
+                }
+                if (retryBudget != null && !retryBudget.tryAcquire()) {
+                    retryStat.budgetRejection();
+                    retryStat.finalFailure();
+                    log.error("{}{} retry budget exhausted, give up after retry {} times", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes);
+                    throw new BaseException("retry with exception: " + e.getMessage(), e.getCause());
+                }
+                retryTimes++;
+                retryStat.retry();
+                delay = nextDelay;
+                log.info("{}{} sth. wrong, attempt to retry {} times after {}ms", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes, delay);
+            }
+            emptyWindow(delay);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        ScheduledExecutorService scheduler = retryScheduler;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private ScheduledExecutorService getRetryScheduler() {
+        ScheduledExecutorService scheduler = retryScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = retryScheduler;
+                if (scheduler == null) {
+                    AtomicInteger threadIndex = new AtomicInteger();
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(Math.max(schedulerThreads, 1), runnable -> {
+                        Thread thread = new Thread(runnable, "rical-retry-scheduler-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.setRemoveOnCancelPolicy(true);
+                    retryScheduler = scheduler = executor;
+                }
             }
-            emptyWindow(retryDetail.getEmptyWindow());
         }
-        throw new BaseException("retry with exception");
+        return scheduler;
     }
 
+    /**
+     * 同步方法只能在当前线程等待；返回future的方法走{@link AsyncRetry}，不会进入这里
+     */
     @SneakyThrows
     private void emptyWindow(long emptyWindow) {
-        TimeUnit.MILLISECONDS.sleep(emptyWindow);
+        if (emptyWindow > 0) {
+            TimeUnit.MILLISECONDS.sleep(emptyWindow);
+        }
     }
 
-    private RetryDetail populateRetryDetail(ProceedingJoinPoint joinPoint) {
-        RetryDetail retryDetail = new RetryDetail();
+    private RetryDetail getRetryDetail(ProceedingJoinPoint joinPoint) {
+        // 通过joinPoint获取被注解方法
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RetryDetail retryDetail = retryDetailCache.get(method);
+        if (retryDetail == null) {
+            retryDetail = retryDetailCache.computeIfAbsent(method, this::populateRetryDetail);
+        }
+        return retryDetail;
+    }
+
+    private RetryDetail populateRetryDetail(Method method) {
         try {
-            // 通过joinPoint获取被注解方法
-            MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-            // 1、获取注解参数值
-            Retry retry = methodSignature.getMethod().getAnnotation(Retry.class);
-            // 2、获取方法/类
-            Method method = methodSignature.getMethod();
-            retryDetail.setMethod(method.getName());
-            retryDetail.setClazz(method.getDeclaringClass().getSimpleName());
-            // 3、获取重试次数
-            int retryTimes = Math.max(retry.times(), 0);
-            if (retryTimes == 0) {
-                retryTimes = Math.max(retry.value(), 0);
-            }
-            retryDetail.setTotalRetryTimes(Math.min(retryTimes, 10));
-            // 4、空窗期
-            retryDetail.setEmptyWindow(Math.min(Math.max(retry.emptyWindow(), 0), 60000));
+            return RetryDetail.of(method, methodStatRegistry);
         } catch (Exception ex) {
             log.info("{}[RetryAspect#populateRetryDetail] - exception={}, check the error.log", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage());
             log.error("{}[RetryAspect#populateRetryDetail] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
         }
-        return retryDetail;
-    }
-
-    @Getter
-    @Setter
-    class RetryDetail {
-        private String clazz = "unknownClass";
-        private String method = "unknownMethod";
-        private int totalRetryTimes = 1;
-        private long emptyWindow = 0L;
+        return RetryDetail.unknown();
     }
 }
@@ -0,0 +1,200 @@
+package org.linkgems.rical.common.eve.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.dto.SingleFlightDetail;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @description: 合并调用切片，位于缓存切片内层、限流切片外层：缓存未命中的并发回源只执行一次，
+ * 等待方不占用限流许可。首个调用方（leader）执行业务方法，其余调用方等待其结果；
+ * leader在发布结果前移除自身，之后到达的调用会发起新的执行
+ * @author: meidanlong
+ * @date: 2026/10/17 4:40 AM
+ */
+@Slf4j
+@Order(AspectOrderConstant.SINGLE_FLIGHT)
+@Aspect
+@Component
+public class SingleFlightAspect implements DisposableBean {
+
+    private static final long STOP_TIMEOUT_MILLIS = 3000L;
+
+    /**
+     * 方法 -> 合并调用元数据，每个方法只解析一次
+     */
+    private final Map<Method, SingleFlightDetail> singleFlightDetailCache = new ConcurrentHashMap<>();
+
+    /**
+     * 异步方法等待方的到期调度，首次出现异步等待方时才创建
+     */
+    private volatile ScheduledExecutorService followerScheduler;
+
+    @Pointcut("@annotation(org.linkgems.rical.common.eve.domain.annotation.SingleFlight)")
+    public void pointCut() {
+    }
+
+    @Around("pointCut()")
+    public Object pointCut(ProceedingJoinPoint joinPoint) throws Throwable {
+        SingleFlightDetail singleFlightDetail = getSingleFlightDetail(joinPoint);
+        Map<Object, CompletableFuture<Object>> flights = singleFlightDetail.getFlights();
+        Object key = singleFlightDetail.keyOf(joinPoint.getTarget(), joinPoint.getArgs());
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = flights.putIfAbsent(key, flight);
+        if (leader != null) {
+            return singleFlightDetail.isAsync() ? follow(singleFlightDetail, leader) : await(singleFlightDetail, leader);
+        }
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable th) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(th);
+            throw th;
+        }
+        if (singleFlightDetail.isAsync() && result != null) {
+            ((CompletionStage<?>) result).whenComplete((value, th) -> {
+                flights.remove(key, flight);
+                if (th != null) {
+                    flight.completeExceptionally(unwrap(th));
+                } else {
+                    flight.complete(value);
+                }
+            });
+        } else {
+            flights.remove(key, flight);
+            flight.complete(result);
+        }
+        return result;
+    }
+
+    /**
+     * 异步方法的等待方：共享leader的结果，超过timeoutMs以SINGLE_FLIGHT_TIMEOUT结束，不影响进行中的调用
+     */
+    private CompletableFuture<Object> follow(SingleFlightDetail singleFlightDetail, CompletableFuture<Object> leader) {
+        CompletableFuture<Object> promise = new CompletableFuture<>();
+        ScheduledFuture<?> timer = null;
+        long timeoutMs = singleFlightDetail.getTimeoutMs();
+        if (timeoutMs > 0 && !leader.isDone()) {
+            try {
+                timer = getFollowerScheduler().schedule(() -> {
+                    if (promise.completeExceptionally(new BaseException(ErrorEnum.SINGLE_FLIGHT_TIMEOUT))) {
+                        log.warn("{}{} wait for in-flight call timeout - timeoutMs={}", LogMarkConstant.LOG_ERROR_MARK, singleFlightDetail.getClassMethodName(), timeoutMs);
+                    }
+                }, timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                // 应用关闭中，不再限时
+            }
+        }
+        ScheduledFuture<?> scheduled = timer;
+        leader.whenComplete((value, th) -> {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            if (th != null) {
+                promise.completeExceptionally(unwrap(th));
+            } else {
+                promise.complete(value);
+            }
+        });
+        return promise;
+    }
+
+    private Object await(SingleFlightDetail singleFlightDetail, CompletableFuture<Object> leader) {
+        try {
+            long timeoutMs = singleFlightDetail.getTimeoutMs();
+            return timeoutMs > 0 ? leader.get(timeoutMs, TimeUnit.MILLISECONDS) : leader.get();
+        } catch (TimeoutException ex) {
+            log.warn("{}{} wait for in-flight call timeout - timeoutMs={}", LogMarkConstant.LOG_ERROR_MARK, singleFlightDetail.getClassMethodName(), singleFlightDetail.getTimeoutMs());
+            throw new BaseException(ErrorEnum.SINGLE_FLIGHT_TIMEOUT);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BaseException(ErrorEnum.SYSTEM_ERROR, "wait for in-flight call interrupted", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = unwrap(ex);
+            if (cause instanceof BaseException) {
+                // 保留错误码，异常栈为等待方自身的调用栈
+                throw new BaseException(((BaseException) cause).getCode(), cause.getMessage());
+            }
+            throw new BaseException("in-flight call with exception: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable th) {
+        while ((th instanceof CompletionException || th instanceof ExecutionException) && th.getCause() != null) {
+            th = th.getCause();
+        }
+        return th;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        ScheduledExecutorService scheduler = followerScheduler;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private ScheduledExecutorService getFollowerScheduler() {
+        ScheduledExecutorService scheduler = followerScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = followerScheduler;
+                if (scheduler == null) {
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                        Thread thread = new Thread(runnable, "rical-single-flight-scheduler");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.setRemoveOnCancelPolicy(true);
+                    followerScheduler = scheduler = executor;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    private SingleFlightDetail getSingleFlightDetail(ProceedingJoinPoint joinPoint) {
+        // 通过joinPoint获取被注解方法
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        SingleFlightDetail singleFlightDetail = singleFlightDetailCache.get(method);
+        if (singleFlightDetail == null) {
+            singleFlightDetail = singleFlightDetailCache.computeIfAbsent(method, this::populateSingleFlightDetail);
+        }
+        return singleFlightDetail;
+    }
+
+    private SingleFlightDetail populateSingleFlightDetail(Method method) {
+        try {
+            return SingleFlightDetail.of(method);
+        } catch (RuntimeException ex) {
+            log.error("{}[SingleFlightAspect#populateSingleFlightDetail] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.linkgems.rical.common.eve.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.component.deadline.DeadlineContext;
+import org.linkgems.rical.common.eve.domain.constant.AspectOrderConstant;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.dto.TimeoutDetail;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @description: 超时切片，位于日志切片内层、缓存切片外层：截止时间覆盖限流、重试与熔断，超时拒绝会被日志记录
+ * @author: meidanlong
+ * @date: 2026/10/17 4:50 AM
+ */
+@Slf4j
+@Order(AspectOrderConstant.TIMEOUT)
+@Aspect
+@Component
+public class TimeoutAspect implements DisposableBean {
+
+    private static final long STOP_TIMEOUT_MILLIS = 3000L;
+
+    /**
+     * 方法 -> 超时元数据，每个方法只解析一次
+     */
+    private final Map<Method, TimeoutDetail> timeoutDetailCache = new ConcurrentHashMap<>();
+
+    /**
+     * 异步方法的到期调度，首次出现异步@Timeout方法时才创建
+     */
+    private volatile ScheduledExecutorService timeoutScheduler;
+
+    @Pointcut("@annotation(org.linkgems.rical.common.eve.domain.annotation.Timeout)")
+    public void pointCut() {
+    }
+
+    @Around("pointCut()")
+    public Object pointCut(ProceedingJoinPoint joinPoint) throws Throwable {
+        TimeoutDetail timeoutDetail = getTimeoutDetail(joinPoint);
+        long now = System.currentTimeMillis();
+        Long previous = DeadlineContext.current();
+        long deadline = now + timeoutDetail.getTimeoutMs();
+        if (previous != null && previous < deadline) {
+            deadline = previous;
+        }
+        if (deadline <= now) {
+            log.warn("{}{} deadline exceeded before start - overdue={}ms", LogMarkConstant.LOG_ERROR_MARK, timeoutDetail.getClassMethodName(), now - deadline);
+            throw new BaseException(ErrorEnum.DEADLINE_EXCEEDED);
+        }
+        DeadlineContext.set(deadline);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } finally {
+            DeadlineContext.set(previous);
+        }
+        if (timeoutDetail.isAsync() && result != null) {
+            return withTimeout((CompletionStage<?>) result, deadline - System.currentTimeMillis());
+        }
+        return result;
+    }
+
+    private CompletableFuture<Object> withTimeout(CompletionStage<?> stage, long remainingMillis) {
+        CompletableFuture<Object> promise = new CompletableFuture<>();
+        ScheduledFuture<?> timer = null;
+        if (remainingMillis <= 0) {
+            promise.completeExceptionally(new BaseException(ErrorEnum.DEADLINE_EXCEEDED));
+        } else {
+            try {
+                timer = getTimeoutScheduler().schedule(() -> {
+                    if (promise.completeExceptionally(new BaseException(ErrorEnum.DEADLINE_EXCEEDED))) {
+                        // 到期后不再需要结果
+                        stage.toCompletableFuture().cancel(false);
+                    }
+                }, remainingMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                // 应用关闭中，不再限时
+            }
+        }
+        ScheduledFuture<?> scheduled = timer;
+        stage.whenComplete((value, th) -> {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            if (th != null) {
+                promise.completeExceptionally(unwrap(th));
+            } else {
+                promise.complete(value);
+            }
+        });
+        return promise;
+    }
+
+    private static Throwable unwrap(Throwable th) {
+        while ((th instanceof CompletionException || th instanceof ExecutionException) && th.getCause() != null) {
+            th = th.getCause();
+        }
+        return th;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        ScheduledExecutorService scheduler = timeoutScheduler;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private ScheduledExecutorService getTimeoutScheduler() {
+        ScheduledExecutorService scheduler = timeoutScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = timeoutScheduler;
+                if (scheduler == null) {
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                        Thread thread = new Thread(runnable, "rical-timeout-scheduler");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.setRemoveOnCancelPolicy(true);
+                    timeoutScheduler = scheduler = executor;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    private TimeoutDetail getTimeoutDetail(ProceedingJoinPoint joinPoint) {
+        // 通过joinPoint获取被注解方法
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        TimeoutDetail timeoutDetail = timeoutDetailCache.get(method);
+        if (timeoutDetail == null) {
+            timeoutDetail = timeoutDetailCache.computeIfAbsent(method, this::populateTimeoutDetail);
+        }
+        return timeoutDetail;
+    }
+
+    private TimeoutDetail populateTimeoutDetail(Method method) {
+        try {
+            return TimeoutDetail.of(method);
+        } catch (RuntimeException ex) {
+            log.error("{}[TimeoutAspect#populateTimeoutDetail] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.linkgems.rical.common.eve.component.batch;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.component.stat.LatencyHistogram;
+import org.linkgems.rical.common.eve.domain.dto.BatchStatDTO;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @description: 单个方法的批量合并统计，批次大小与排队时长分布用于调整maxSize与windowMs
+ * @author: meidanlong
+ * @date: 2026/10/17 4:43 AM
+ */
+public class BatchStat {
+
+    @Getter
+    private final String name;
+    private final LatencyHistogram sizes = new LatencyHistogram();
+    private final LatencyHistogram queueDelays = new LatencyHistogram();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public BatchStat(String name) {
+        this.name = name;
+    }
+
+    public void batch(int size) {
+        sizes.record(size);
+        items.add(size);
+    }
+
+    /**
+     * @param micros 单条调用的排队时长，单位us
+     */
+    public void queueDelay(long micros) {
+        queueDelays.record(micros);
+    }
+
+    public void failure() {
+        failures.increment();
+    }
+
+    public BatchStatDTO snapshot() {
+        BatchStatDTO dto = new BatchStatDTO();
+        dto.setMethod(name);
+        long batches = sizes.getCount();
+        long itemCount = items.sum();
+        dto.setBatches(batches);
+        dto.setItems(itemCount);
+        dto.setFailures(failures.sum());
+        dto.setAvgSize(batches == 0 ? 0D : (double) itemCount / batches);
+        dto.setSizeP50(sizes.getPercentile(0.5D));
+        dto.setSizeP90(sizes.getPercentile(0.9D));
+        dto.setSizeP99(sizes.getPercentile(0.99D));
+        dto.setSizeMax(sizes.getMax());
+        dto.setQueueDelayP50(queueDelays.getPercentile(0.5D));
+        dto.setQueueDelayP90(queueDelays.getPercentile(0.9D));
+        dto.setQueueDelayP99(queueDelays.getPercentile(0.99D));
+        dto.setQueueDelayMax(queueDelays.getMax());
+        return dto;
+    }
+}
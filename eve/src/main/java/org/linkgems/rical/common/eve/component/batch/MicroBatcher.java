@@ -0,0 +1,224 @@
+package org.linkgems.rical.common.eve.component.batch;
+
+import lombok.Getter;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.component.context.CallContext;
+import org.linkgems.rical.common.eve.component.deadline.DeadlineContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @description: 单条调用攒批器。第一条调用到达时开启批次并定时，攒满maxSize或窗口到期即封批，
+ * 封批后的批次交给执行线程池调用批量方法，结果按key分发到各调用的future。
+ * 锁只保护当前批次的追加与封批，批量调用与结果分发都在锁外。
+ * 批量调用在开启批次的调用方上下文（traceId、RpcContext attachment）中执行，截止时间取批内各调用方中最晚的
+ * @author: meidanlong
+ * @date: 2026/10/17 4:43 AM
+ */
+public class MicroBatcher {
+
+    /**
+     * 批量加载，返回Map、List或其CompletionStage
+     */
+    public interface BulkLoader {
+        Object load(Object target, List<Object> keys) throws Throwable;
+    }
+
+    private final int maxSize;
+    private final long windowNanos;
+    private final BulkLoader loader;
+    @Getter
+    private final BatchStat stat;
+    /**
+     * 正在攒批的批次，由this保护
+     */
+    private Batch current;
+
+    public MicroBatcher(int maxSize, long windowMillis, BulkLoader loader, BatchStat stat) {
+        this.maxSize = Math.max(maxSize, 1);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(windowMillis, 0L));
+        this.loader = loader;
+        this.stat = stat;
+    }
+
+    /**
+     * 提交一条调用
+     *
+     * @param target    调用批量方法的对象
+     * @param key       单条key
+     * @param scheduler 窗口定时
+     * @param executor  批量调用线程池
+     * @return 该key的结果
+     */
+    public CompletableFuture<Object> submit(Object target, Object key, ScheduledExecutorService scheduler, Executor executor) {
+        Pending pending = new Pending(key);
+        Batch opened = null;
+        Batch sealed = null;
+        synchronized (this) {
+            if (current == null) {
+                current = new Batch(target, maxSize);
+                opened = current;
+            }
+            current.pendings.add(pending);
+            if (current.pendings.size() >= maxSize) {
+                sealed = current;
+                current = null;
+            }
+        }
+        if (sealed != null) {
+            dispatch(sealed, executor);
+        } else if (opened != null) {
+            Batch batch = opened;
+            try {
+                scheduler.schedule(() -> flush(batch, executor), windowNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException ex) {
+                flush(batch, executor);
+            }
+        }
+        return pending.future;
+    }
+
+    private void flush(Batch batch, Executor executor) {
+        synchronized (this) {
+            if (current != batch) {
+                // 已攒满封批
+                return;
+            }
+            current = null;
+        }
+        dispatch(batch, executor);
+    }
+
+    /**
+     * 封批的可能是窗口定时线程，批量调用不能在其上执行，否则一次慢调用会拖住所有@Batch方法的窗口；线程池与队列都满时整批失败
+     */
+    private void dispatch(Batch batch, Executor executor) {
+        try {
+            executor.execute(() -> load(batch));
+        } catch (RejectedExecutionException ex) {
+            fail(batch, new BaseException(ErrorEnum.CONCURRENCY_LIMIT_ERROR, "batch executor is saturated"));
+        }
+    }
+
+    private void load(Batch batch) {
+        long now = System.nanoTime();
+        Map<Object, List<Pending>> pendingsByKey = new LinkedHashMap<>();
+        for (Pending pending : batch.pendings) {
+            stat.queueDelay(TimeUnit.NANOSECONDS.toMicros(now - pending.arrivalNanos));
+            pendingsByKey.computeIfAbsent(pending.key, key -> new ArrayList<>(1)).add(pending);
+        }
+        stat.batch(batch.pendings.size());
+        List<Object> keys = new ArrayList<>(pendingsByKey.keySet());
+        Object result;
+        try (CallContext.Scope ignored = batch.callContext.attach()) {
+            DeadlineContext.set(latestDeadline(batch));
+            result = loader.load(batch.target, keys);
+        } catch (Throwable th) {
+            fail(batch, th);
+            return;
+        }
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, th) -> {
+                if (th != null) {
+                    fail(batch, unwrap(th));
+                } else {
+                    demultiplex(batch, keys, pendingsByKey, value);
+                }
+            });
+        } else {
+            demultiplex(batch, keys, pendingsByKey, result);
+        }
+    }
+
+    /**
+     * 批量调用为整批调用方服务，任一调用方不限时则不限时
+     */
+    private static Long latestDeadline(Batch batch) {
+        Long latest = null;
+        for (Pending pending : batch.pendings) {
+            if (pending.deadline == null) {
+                return null;
+            }
+            if (latest == null || pending.deadline > latest) {
+                latest = pending.deadline;
+            }
+        }
+        return latest;
+    }
+
+    private void demultiplex(Batch batch, List<Object> keys, Map<Object, List<Pending>> pendingsByKey, Object result) {
+        if (result == null || result instanceof Map) {
+            Map<?, ?> values = (Map<?, ?>) result;
+            for (Map.Entry<Object, List<Pending>> entry : pendingsByKey.entrySet()) {
+                complete(entry.getValue(), values == null ? null : values.get(entry.getKey()));
+            }
+        } else if (result instanceof List && ((List<?>) result).size() == keys.size()) {
+            List<?> values = (List<?>) result;
+            for (int i = 0; i < keys.size(); i++) {
+                complete(pendingsByKey.get(keys.get(i)), values.get(i));
+            }
+        } else {
+            String message = result instanceof List
+                    ? String.format("bulk result size %d does not match key size %d", ((List<?>) result).size(), keys.size())
+                    : "bulk method must return Map or List, but was " + result.getClass().getName();
+            fail(batch, new BaseException(ErrorEnum.SYSTEM_ERROR, message));
+        }
+    }
+
+    private static void complete(List<Pending> pendings, Object value) {
+        for (Pending pending : pendings) {
+            pending.future.complete(value);
+        }
+    }
+
+    private void fail(Batch batch, Throwable th) {
+        stat.failure();
+        for (Pending pending : batch.pendings) {
+            pending.future.completeExceptionally(th);
+        }
+    }
+
+    private static Throwable unwrap(Throwable th) {
+        while ((th instanceof CompletionException || th instanceof ExecutionException) && th.getCause() != null) {
+            th = th.getCause();
+        }
+        return th;
+    }
+
+    private static final class Batch {
+        private final Object target;
+        private final List<Pending> pendings;
+        /**
+         * 开启批次的调用方上下文
+         */
+        private final CallContext callContext = CallContext.capture();
+
+        private Batch(Object target, int maxSize) {
+            this.target = target;
+            this.pendings = new ArrayList<>(Math.min(maxSize, 64));
+        }
+    }
+
+    private static final class Pending {
+        private final Object key;
+        private final long arrivalNanos = System.nanoTime();
+        private final Long deadline = DeadlineContext.current();
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        private Pending(Object key) {
+            this.key = key;
+        }
+    }
+}
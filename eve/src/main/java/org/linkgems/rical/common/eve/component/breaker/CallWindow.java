@@ -0,0 +1,69 @@
+package org.linkgems.rical.common.eve.component.breaker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @description: 按调用次数计的无锁滑动窗口。每次记录覆盖环上最旧的槽位，并按新旧结果增减计数。
+ * 并发记录时计数可能短暂偏差，但每个槽位的覆盖由getAndSet唯一确定，不会累积漂移
+ * @author: meidanlong
+ * @date: 2026/10/17 4:29 AM
+ */
+public class CallWindow {
+
+    private static final int RECORDED = 1;
+    private static final int FAILURE = 1 << 1;
+    private static final int SLOW = 1 << 2;
+
+    private final int size;
+    private final AtomicIntegerArray slots;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+
+    public CallWindow(int size) {
+        this.size = Math.max(size, 1);
+        this.slots = new AtomicIntegerArray(this.size);
+    }
+
+    public void record(boolean failure, boolean slow) {
+        int outcome = RECORDED | (failure ? FAILURE : 0) | (slow ? SLOW : 0);
+        int index = (int) (cursor.getAndIncrement() % size);
+        int previous = slots.getAndSet(index, outcome);
+        apply(previous, -1);
+        apply(outcome, 1);
+    }
+
+    public void reset() {
+        for (int i = 0; i < size; i++) {
+            apply(slots.getAndSet(i, 0), -1);
+        }
+    }
+
+    private void apply(int outcome, int delta) {
+        if ((outcome & RECORDED) == 0) {
+            return;
+        }
+        calls.addAndGet(delta);
+        if ((outcome & FAILURE) != 0) {
+            failures.addAndGet(delta);
+        }
+        if ((outcome & SLOW) != 0) {
+            slowCalls.addAndGet(delta);
+        }
+    }
+
+    public int getCalls() {
+        return Math.max(calls.get(), 0);
+    }
+
+    public int getFailures() {
+        return Math.max(failures.get(), 0);
+    }
+
+    public int getSlowCalls() {
+        return Math.max(slowCalls.get(), 0);
+    }
+}
@@ -0,0 +1,17 @@
+package org.linkgems.rical.common.eve.component.breaker;
+
+/**
+ * @description: 熔断器状态变更监听。实现该接口的Spring Bean会被自动注册，回调在触发变更的调用线程上同步执行，不应阻塞
+ * @author: meidanlong
+ * @date: 2026/10/17 4:29 AM
+ */
+public interface CircuitBreakerListener {
+
+    /**
+     * @param name   熔断器名称
+     * @param from   原状态
+     * @param to     新状态
+     * @param reason 变更原因，如失败率
+     */
+    void onStateTransition(String name, CircuitBreakerStateMachine.State from, CircuitBreakerStateMachine.State to, String reason);
+}
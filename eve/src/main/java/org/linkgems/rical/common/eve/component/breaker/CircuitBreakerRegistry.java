@@ -0,0 +1,69 @@
+package org.linkgems.rical.common.eve.component.breaker;
+
+import lombok.extern.slf4j.Slf4j;
+import org.linkgems.rical.common.eve.domain.annotation.CircuitBreaker;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.dto.CircuitBreakerStatDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description: 熔断器注册表，按名称共享熔断器，并将状态变更输出到日志与各{@link CircuitBreakerListener}
+ * @author: meidanlong
+ * @date: 2026/10/17 4:29 AM
+ */
+@Slf4j
+@Component
+public class CircuitBreakerRegistry {
+
+    private final Map<String, CircuitBreakerStateMachine> breakers = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private List<CircuitBreakerListener> listeners = Collections.emptyList();
+
+    /**
+     * 获取或注册熔断器，同名已存在时忽略config
+     *
+     * @param name
+     * @param config
+     * @return
+     */
+    public CircuitBreakerStateMachine register(String name, CircuitBreaker config) {
+        return breakers.computeIfAbsent(name, key -> new CircuitBreakerStateMachine(key, config, this::onStateTransition));
+    }
+
+    public CircuitBreakerStateMachine get(String name) {
+        return breakers.get(name);
+    }
+
+    public List<CircuitBreakerStatDTO> snapshot() {
+        List<CircuitBreakerStatDTO> result = new ArrayList<>(breakers.size());
+        for (CircuitBreakerStateMachine breaker : breakers.values()) {
+            result.add(breaker.snapshot());
+        }
+        result.sort(Comparator.comparing(CircuitBreakerStatDTO::getName));
+        return result;
+    }
+
+    private void onStateTransition(String name, CircuitBreakerStateMachine.State from, CircuitBreakerStateMachine.State to, String reason) {
+        if (to == CircuitBreakerStateMachine.State.OPEN) {
+            log.warn("{}[CircuitBreaker] {} {} -> {}, {}", LogMarkConstant.LOG_ERROR_MARK, name, from, to, reason);
+        } else {
+            log.info("{}[CircuitBreaker] {} {} -> {}, {}", LogMarkConstant.LOG_INFO_MARK, name, from, to, reason);
+        }
+        for (CircuitBreakerListener listener : listeners) {
+            try {
+                listener.onStateTransition(name, from, to, reason);
+            } catch (Exception ex) {
+                log.error("{}[CircuitBreakerRegistry.onStateTransition] - exception={}", LogMarkConstant.LOG_ERROR_MARK, ex.getMessage(), ex);
+            }
+        }
+    }
+}
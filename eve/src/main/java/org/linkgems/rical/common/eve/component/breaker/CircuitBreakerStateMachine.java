@@ -0,0 +1,184 @@
+package org.linkgems.rical.common.eve.component.breaker;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.domain.annotation.CircuitBreaker;
+import org.linkgems.rical.common.eve.domain.dto.CircuitBreakerStatDTO;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @description: 熔断器状态机。当前状态及其附属计数封装在不可变的{@link Phase}中，状态变更即对Phase引用的CAS，
+ * 调用结果按其准入时的Phase记录，变更前准入的调用不会污染新状态的统计
+ * @author: meidanlong
+ * @date: 2026/10/17 4:29 AM
+ */
+public class CircuitBreakerStateMachine {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @Getter
+    private final String name;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int minimumCalls;
+    private final long waitNanos;
+    private final int halfOpenCalls;
+    private final CallWindow window;
+    private final CircuitBreakerListener listener;
+    private final AtomicReference<Phase> phase;
+    private final LongAdder rejected = new LongAdder();
+
+    public CircuitBreakerStateMachine(String name, CircuitBreaker config, CircuitBreakerListener listener) {
+        this.name = name;
+        this.failureRateThreshold = config.failureRateThreshold();
+        this.slowCallRateThreshold = config.slowCallRateThreshold();
+        this.slowCallNanos = config.slowCallDurationMs() > 0 ? TimeUnit.MILLISECONDS.toNanos(config.slowCallDurationMs()) : Long.MAX_VALUE;
+        this.minimumCalls = Math.max(config.minimumCalls(), 1);
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(config.waitDurationMs(), 0L));
+        this.halfOpenCalls = Math.max(config.halfOpenCalls(), 1);
+        this.window = new CallWindow(Math.max(config.windowSize(), this.minimumCalls));
+        this.listener = listener;
+        this.phase = new AtomicReference<>(new Phase(State.CLOSED, 0));
+    }
+
+    /**
+     * 申请调用许可
+     *
+     * @return 准入时的Phase，需在调用结束后传回{@link #onResult}；拒绝时为null
+     */
+    public Phase tryAcquire() {
+        Phase current = phase.get();
+        if (current.state == State.OPEN) {
+            if (System.nanoTime() - current.since < waitNanos) {
+                rejected.increment();
+                return null;
+            }
+            transition(current, new Phase(State.HALF_OPEN, halfOpenCalls), "wait duration elapsed");
+            current = phase.get();
+        }
+        switch (current.state) {
+            case CLOSED:
+                return current;
+            case HALF_OPEN:
+                if (current.permits.getAndDecrement() > 0) {
+                    return current;
+                }
+                rejected.increment();
+                return null;
+            default:
+                rejected.increment();
+                return null;
+        }
+    }
+
+    /**
+     * 记录调用结果
+     *
+     * @param admitted  tryAcquire返回的Phase
+     * @param costNanos
+     * @param failure
+     */
+    public void onResult(Phase admitted, long costNanos, boolean failure) {
+        boolean slow = costNanos >= slowCallNanos;
+        if (admitted.state == State.CLOSED) {
+            // 准入后状态已变更（如HALF_OPEN恢复为CLOSED时窗口已重置），旧Phase的结果不计入新窗口
+            if (phase.get() != admitted) {
+                return;
+            }
+            window.record(failure, slow);
+            int calls = window.getCalls();
+            if (calls < minimumCalls) {
+                return;
+            }
+            String reason = exceeded(calls, window.getFailures(), window.getSlowCalls());
+            if (reason != null) {
+                transition(admitted, new Phase(State.OPEN, 0), reason);
+            }
+            return;
+        }
+        if (admitted.state != State.HALF_OPEN) {
+            return;
+        }
+        if (failure) {
+            admitted.failures.incrementAndGet();
+        }
+        if (slow) {
+            admitted.slowCalls.incrementAndGet();
+        }
+        if (admitted.completed.incrementAndGet() != halfOpenCalls) {
+            return;
+        }
+        String reason = exceeded(halfOpenCalls, admitted.failures.get(), admitted.slowCalls.get());
+        if (reason != null) {
+            transition(admitted, new Phase(State.OPEN, 0), "half-open trial " + reason);
+        } else {
+            transition(admitted, new Phase(State.CLOSED, 0), "half-open trial passed");
+        }
+    }
+
+    private String exceeded(int calls, int failures, int slowCalls) {
+        float failureRate = failures * 100F / calls;
+        if (failures > 0 && failureRate >= failureRateThreshold) {
+            return String.format("failureRate=%.1f%% calls=%d", failureRate, calls);
+        }
+        float slowCallRate = slowCalls * 100F / calls;
+        if (slowCalls > 0 && slowCallRate >= slowCallRateThreshold) {
+            return String.format("slowCallRate=%.1f%% calls=%d", slowCallRate, calls);
+        }
+        return null;
+    }
+
+    private void transition(Phase from, Phase to, String reason) {
+        if (!phase.compareAndSet(from, to)) {
+            return;
+        }
+        if (to.state == State.CLOSED) {
+            window.reset();
+        }
+        if (listener != null) {
+            listener.onStateTransition(name, from.state, to.state, reason);
+        }
+    }
+
+    public State getState() {
+        return phase.get().state;
+    }
+
+    public CircuitBreakerStatDTO snapshot() {
+        Phase current = phase.get();
+        CircuitBreakerStatDTO dto = new CircuitBreakerStatDTO();
+        dto.setName(name);
+        dto.setState(current.state.name());
+        dto.setStateSince(current.sinceMillis);
+        int calls = window.getCalls();
+        dto.setCalls(calls);
+        dto.setFailureRate(calls == 0 ? 0F : window.getFailures() * 100F / calls);
+        dto.setSlowCallRate(calls == 0 ? 0F : window.getSlowCalls() * 100F / calls);
+        dto.setRejected(rejected.sum());
+        return dto;
+    }
+
+    /**
+     * 一个状态周期，半开状态附带试探许可与结果计数
+     */
+    public static final class Phase {
+        private final State state;
+        private final long since = System.nanoTime();
+        private final long sinceMillis = System.currentTimeMillis();
+        private final AtomicInteger permits;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        private Phase(State state, int permits) {
+            this.state = state;
+            this.permits = new AtomicInteger(permits);
+        }
+    }
+}
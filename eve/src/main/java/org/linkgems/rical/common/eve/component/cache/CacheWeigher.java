@@ -0,0 +1,50 @@
+package org.linkgems.rical.common.eve.component.cache;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * @description: 缓存项权重计算，实现类需有无参构造器
+ * @author: meidanlong
+ * @date: 2026/10/17 4:38 AM
+ */
+public interface CacheWeigher {
+
+    /**
+     * @param key
+     * @param value 可能为null
+     * @return 大于等于1的权重
+     */
+    int weigh(Object key, Object value);
+
+    /**
+     * 每项权重为1，maxWeight即最大条目数
+     */
+    class Unit implements CacheWeigher {
+        @Override
+        public int weigh(Object key, Object value) {
+            return 1;
+        }
+    }
+
+    /**
+     * 集合、Map、数组按元素数计权重，字符串按长度/64计权重，其他为1
+     */
+    class ElementCount implements CacheWeigher {
+        @Override
+        public int weigh(Object key, Object value) {
+            int weight = 1;
+            if (value instanceof Collection) {
+                weight = ((Collection<?>) value).size();
+            } else if (value instanceof Map) {
+                weight = ((Map<?, ?>) value).size();
+            } else if (value != null && value.getClass().isArray()) {
+                weight = Array.getLength(value);
+            } else if (value instanceof CharSequence) {
+                weight = ((CharSequence) value).length() >> 6;
+            }
+            return Math.max(weight, 1);
+        }
+    }
+}
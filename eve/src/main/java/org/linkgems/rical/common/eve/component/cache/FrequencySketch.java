@@ -0,0 +1,65 @@
+package org.linkgems.rical.common.eve.component.cache;
+
+/**
+ * @description: TinyLFU频率草图。4行count-min，每个计数器4bit（上限15），16个计数器打包在一个long中；
+ * 累计增加次数达到样本数后所有计数减半，使频率随时间衰减。非线程安全，由调用方加锁
+ * @author: meidanlong
+ * @date: 2026/10/17 4:38 AM
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_TABLE_SIZE = 1 << 20;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(long expectedEntries) {
+        int length = Integer.highestOneBit((int) Math.min(Math.max(expectedEntries, 16L), MAX_TABLE_SIZE) - 1) << 1;
+        this.table = new long[length];
+        this.mask = length - 1;
+        this.sampleSize = 10 * length;
+    }
+
+    int frequency(int hash) {
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = mix(hash, i);
+            int index = (int) (h >>> 32) & mask;
+            int offset = ((int) h & 15) << 2;
+            frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xFL));
+        }
+        return frequency;
+    }
+
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = mix(hash, i);
+            int index = (int) (h >>> 32) & mask;
+            int offset = ((int) h & 15) << 2;
+            if (((table[index] >>> offset) & 0xFL) < 15L) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+
+    private static long mix(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return h ^ (h >>> 29);
+    }
+}
@@ -0,0 +1,363 @@
+package org.linkgems.rical.common.eve.component.cache;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.domain.dto.CacheStatDTO;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @description: 按权重限制容量的W-TinyLFU缓存。
+ * 查询只读ConcurrentHashMap，访问记录写入有损的环形缓冲，由持有淘汰锁的线程批量回放；
+ * 淘汰策略为1%的LRU窗口 + 分段LRU主区（probation/protected），窗口溢出的候选项与主区最久未用项比较
+ * {@link FrequencySketch}中的访问频率，频率更高者留下，使偶发的一次性访问无法挤掉热点数据
+ * @author: meidanlong
+ * @date: 2026/10/17 4:38 AM
+ */
+public class WTinyLfuCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+    @Getter
+    private final String name;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final long expireNanos;
+    private final long refreshNanos;
+    private final CacheWeigher weigher;
+    private final Map<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessOrderDeque<K, V>[] queues;
+    /**
+     * 以下权重只在evictionLock保护下读写
+     */
+    private final long[] queueWeights = new long[3];
+    private final AtomicReferenceArray<Node<K, V>> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong readBufferWrite = new AtomicLong();
+    private long readBufferRead;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    /**
+     * @param name          统计名称
+     * @param maximumWeight 最大总权重
+     * @param expireMillis  写入后过期时长，小于等于0表示不过期
+     * @param refreshMillis 写入后多久提前刷新，小于等于0表示不刷新
+     * @param weigher
+     */
+    @SuppressWarnings("unchecked")
+    public WTinyLfuCache(String name, long maximumWeight, long expireMillis, long refreshMillis, CacheWeigher weigher) {
+        this.name = name;
+        this.maximumWeight = Math.max(maximumWeight, 1L);
+        this.windowMaximum = Math.max(this.maximumWeight / 100, 1L);
+        this.protectedMaximum = (long) ((this.maximumWeight - this.windowMaximum) * 0.8D);
+        this.expireNanos = expireMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(expireMillis) : Long.MAX_VALUE;
+        this.refreshNanos = refreshMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(refreshMillis) : Long.MAX_VALUE;
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(this.maximumWeight);
+        this.queues = new AccessOrderDeque[]{new AccessOrderDeque<>(), new AccessOrderDeque<>(), new AccessOrderDeque<>()};
+    }
+
+    /**
+     * 查询缓存，记录命中与未命中
+     *
+     * @param key
+     * @return 未命中或已过期时为null
+     */
+    public Node<K, V> getNode(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - node.writeNanos >= expireNanos) {
+            misses.increment();
+            if (data.remove(key, node)) {
+                expirations.increment();
+                evictionLock.lock();
+                try {
+                    unlink(node);
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+            return null;
+        }
+        hits.increment();
+        afterRead(node);
+        return node;
+    }
+
+    /**
+     * 写入缓存，权重超过总容量的项不缓存
+     *
+     * @param key
+     * @param value
+     */
+    public void put(K key, V value) {
+        int weight = Math.max(weigher.weigh(key, value), 1);
+        if (weight > maximumWeight) {
+            return;
+        }
+        Node<K, V> node = new Node<>(key, value, weight);
+        Node<K, V> prior = data.put(key, node);
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            if (prior != null) {
+                unlink(prior);
+            }
+            // 并发写同一个key时只有最后留在map中的节点进入淘汰队列
+            if (data.get(key) == node) {
+                sketch.increment(key.hashCode());
+                link(node, WINDOW);
+                evict();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 节点是否需要提前刷新，为true时调用方获得刷新权，刷新完成后需调用{@link #refreshed}
+     *
+     * @param node
+     * @return
+     */
+    public boolean tryStartRefresh(Node<K, V> node) {
+        return System.nanoTime() - node.writeNanos >= refreshNanos && Node.REFRESHING.compareAndSet(node, 0, 1);
+    }
+
+    public void refreshed(Node<K, V> node, boolean success) {
+        if (success) {
+            refreshes.increment();
+        }
+        node.refreshing = 0;
+    }
+
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            data.clear();
+            for (int i = 0; i < queues.length; i++) {
+                queues[i].clear();
+                queueWeights[i] = 0;
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void afterRead(Node<K, V> node) {
+        long index = readBufferWrite.getAndIncrement();
+        // 缓冲区满时丢弃本次访问记录，只影响淘汰精度
+        readBuffer.lazySet((int) (index & READ_BUFFER_MASK), node);
+        if ((index & (READ_BUFFER_SIZE / 2 - 1)) == 0 && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void drainReadBuffer() {
+        long write = readBufferWrite.get();
+        long start = Math.max(readBufferRead, write - READ_BUFFER_SIZE);
+        for (long i = start; i < write; i++) {
+            Node<K, V> node = readBuffer.getAndSet((int) (i & READ_BUFFER_MASK), null);
+            if (node != null) {
+                onAccess(node);
+            }
+        }
+        readBufferRead = write;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        sketch.increment(node.key.hashCode());
+        if (node.queue < 0) {
+            return;
+        }
+        if (node.queue == PROBATION) {
+            unlink(node);
+            link(node, PROTECTED);
+            while (queueWeights[PROTECTED] > protectedMaximum) {
+                Node<K, V> demoted = queues[PROTECTED].peekFirst();
+                unlink(demoted);
+                link(demoted, PROBATION);
+            }
+        } else {
+            queues[node.queue].moveToBack(node);
+        }
+    }
+
+    private void evict() {
+        long mainMaximum = maximumWeight - windowMaximum;
+        while (queueWeights[WINDOW] > windowMaximum) {
+            Node<K, V> candidate = queues[WINDOW].peekFirst();
+            unlink(candidate);
+            // 为候选项腾出主区空间，候选项频率不高于受害者时淘汰候选项
+            while (queueWeights[PROBATION] + queueWeights[PROTECTED] + candidate.weight > mainMaximum) {
+                Node<K, V> victim = queues[PROBATION].peekFirst();
+                if (victim == null) {
+                    victim = queues[PROTECTED].peekFirst();
+                }
+                if (victim == null || sketch.frequency(candidate.key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+                    victim = candidate;
+                }
+                if (victim != candidate) {
+                    unlink(victim);
+                }
+                if (data.remove(victim.key, victim)) {
+                    evictions.increment();
+                }
+                if (victim == candidate) {
+                    break;
+                }
+            }
+            if (data.get(candidate.key) == candidate) {
+                link(candidate, PROBATION);
+            }
+        }
+    }
+
+    private void link(Node<K, V> node, int queue) {
+        node.queue = queue;
+        queues[queue].addLast(node);
+        queueWeights[queue] += node.weight;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.queue < 0) {
+            return;
+        }
+        queues[node.queue].remove(node);
+        queueWeights[node.queue] -= node.weight;
+        node.queue = -1;
+    }
+
+    public CacheStatDTO snapshot() {
+        CacheStatDTO dto = new CacheStatDTO();
+        dto.setName(name);
+        dto.setSize(data.size());
+        long weight;
+        evictionLock.lock();
+        try {
+            weight = queueWeights[WINDOW] + queueWeights[PROBATION] + queueWeights[PROTECTED];
+        } finally {
+            evictionLock.unlock();
+        }
+        dto.setWeight(weight);
+        dto.setMaximumWeight(maximumWeight);
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        dto.setHits(hitCount);
+        dto.setMisses(missCount);
+        dto.setHitRate(hitCount + missCount == 0 ? 0D : (double) hitCount / (hitCount + missCount));
+        dto.setEvictions(evictions.sum());
+        dto.setExpirations(expirations.sum());
+        dto.setRefreshes(refreshes.sum());
+        return dto;
+    }
+
+    /**
+     * 缓存项。value与写入时间不可变，替换即写入新节点
+     */
+    public static final class Node<K, V> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Node> REFRESHING = AtomicIntegerFieldUpdater.newUpdater(Node.class, "refreshing");
+
+        private final K key;
+        @Getter
+        private final V value;
+        private final int weight;
+        private final long writeNanos = System.nanoTime();
+        private volatile int refreshing;
+        /**
+         * 所在队列，-1表示不在任何队列中，只在淘汰锁保护下读写
+         */
+        private int queue = -1;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * 侵入式双向链表，头部为最久未访问
+     */
+    private static final class AccessOrderDeque<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+
+        Node<K, V> peekFirst() {
+            return head;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            Node<K, V> node = head;
+            while (node != null) {
+                Node<K, V> next = node.next;
+                node.prev = null;
+                node.next = null;
+                node.queue = -1;
+                node = next;
+            }
+            head = null;
+            tail = null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.linkgems.rical.common.eve.component.context;
+
+import org.apache.dubbo.rpc.RpcContext;
+import org.linkgems.rical.common.eve.component.trace.TraceContext;
+import org.linkgems.rical.common.eve.utils.ThreadLocalUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @description: 代为发起调用时的完整上下文：ThreadLocalUtil快照与RpcContext attachment。
+ * eve在其他线程上替调用方执行业务方法（对冲、批量合并、异步重试）时使用，使这些调用发出的Dubbo请求仍带有traceId、截止时间与appKey
+ * @author: meidanlong
+ * @date: 2026/10/17 5:17 AM
+ */
+public class CallContext {
+
+    private final ThreadLocalUtil.Snapshot snapshot;
+    private final Map<String, String> attachments;
+
+    private CallContext(ThreadLocalUtil.Snapshot snapshot, Map<String, String> attachments) {
+        this.snapshot = snapshot;
+        this.attachments = attachments;
+    }
+
+    /**
+     * 在调用方线程上捕获
+     *
+     * @return
+     */
+    public static CallContext capture() {
+        Map<String, String> current = RpcContext.getContext().getAttachments();
+        return new CallContext(ThreadLocalUtil.capture(), current == null || current.isEmpty() ? null : new HashMap<>(current));
+    }
+
+    /**
+     * 在执行线程上恢复，关闭返回的作用域后还原执行线程原有的上下文
+     *
+     * @return
+     */
+    public Scope attach() {
+        return new Scope(this);
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final ThreadLocalUtil.Scope contextScope;
+        private final TraceContext.MdcScope mdcScope;
+        private final Map<String, String> previousAttachments;
+
+        private Scope(CallContext callContext) {
+            RpcContext rpcContext = RpcContext.getContext();
+            Map<String, String> current = rpcContext.getAttachments();
+            this.previousAttachments = current == null || current.isEmpty() ? null : new HashMap<>(current);
+            rpcContext.setAttachments(callContext.attachments);
+            this.contextScope = ThreadLocalUtil.attach(callContext.snapshot);
+            this.mdcScope = TraceContext.bindMdc();
+        }
+
+        @Override
+        public void close() {
+            mdcScope.close();
+            contextScope.close();
+            RpcContext.getContext().setAttachments(previousAttachments);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.linkgems.rical.common.eve.component.context;
+
+import java.util.concurrent.Executor;
+
+/**
+ * @description: 传递线程上下文的Executor
+ * @author: meidanlong
+ * @date: 2026/10/17 4:47 AM
+ */
+public class ContextExecutor implements Executor {
+
+    private final Executor delegate;
+
+    public ContextExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(ContextPropagation.wrapRunnable(command));
+    }
+}
@@ -0,0 +1,93 @@
+package org.linkgems.rical.common.eve.component.context;
+
+import org.linkgems.rical.common.eve.component.trace.TraceContext;
+import org.linkgems.rical.common.eve.utils.ThreadLocalUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * @description: 线程上下文（ThreadLocalUtil）跨线程传递。任务在提交时捕获上下文快照，执行时恢复，结束后还原执行线程原有的上下文。
+ * 捕获为写时复制，不复制上下文数据；执行期间traceId/spanId同时写入MDC。
+ * 用法：ContextPropagation.wrap(executorService)，或CompletableFuture.supplyAsync(ContextPropagation.wrapSupplier(supplier))
+ * @author: meidanlong
+ * @date: 2026/10/17 4:47 AM
+ */
+public class ContextPropagation {
+
+    private ContextPropagation() {
+    }
+
+    public static Runnable wrapRunnable(Runnable task) {
+        ThreadLocalUtil.Snapshot snapshot = ThreadLocalUtil.capture();
+        return () -> {
+            try (ThreadLocalUtil.Scope ignored = ThreadLocalUtil.attach(snapshot);
+                 TraceContext.MdcScope mdc = TraceContext.bindMdc()) {
+                task.run();
+            }
+        };
+    }
+
+    public static <V> Callable<V> wrapCallable(Callable<V> task) {
+        ThreadLocalUtil.Snapshot snapshot = ThreadLocalUtil.capture();
+        return () -> {
+            try (ThreadLocalUtil.Scope ignored = ThreadLocalUtil.attach(snapshot);
+                 TraceContext.MdcScope mdc = TraceContext.bindMdc()) {
+                return task.call();
+            }
+        };
+    }
+
+    public static <V> Supplier<V> wrapSupplier(Supplier<V> task) {
+        ThreadLocalUtil.Snapshot snapshot = ThreadLocalUtil.capture();
+        return () -> {
+            try (ThreadLocalUtil.Scope ignored = ThreadLocalUtil.attach(snapshot);
+                 TraceContext.MdcScope mdc = TraceContext.bindMdc()) {
+                return task.get();
+            }
+        };
+    }
+
+    public static <V> List<Callable<V>> wrapAll(Collection<? extends Callable<V>> tasks) {
+        // 同一批任务共享一个快照
+        ThreadLocalUtil.Snapshot snapshot = ThreadLocalUtil.capture();
+        List<Callable<V>> wrapped = new ArrayList<>(tasks.size());
+        for (Callable<V> task : tasks) {
+            wrapped.add(() -> {
+                try (ThreadLocalUtil.Scope ignored = ThreadLocalUtil.attach(snapshot);
+                 TraceContext.MdcScope mdc = TraceContext.bindMdc()) {
+                    return task.call();
+                }
+            });
+        }
+        return wrapped;
+    }
+
+    public static Executor wrap(Executor executor) {
+        if (executor instanceof ScheduledExecutorService) {
+            return wrap((ScheduledExecutorService) executor);
+        }
+        if (executor instanceof ExecutorService) {
+            return wrap((ExecutorService) executor);
+        }
+        return executor instanceof ContextExecutor ? executor : new ContextExecutor(executor);
+    }
+
+    public static ExecutorService wrap(ExecutorService executorService) {
+        if (executorService instanceof ScheduledExecutorService) {
+            return wrap((ScheduledExecutorService) executorService);
+        }
+        return executorService instanceof ContextExecutorService ? executorService : new ContextExecutorService(executorService);
+    }
+
+    public static ScheduledExecutorService wrap(ScheduledExecutorService scheduledExecutorService) {
+        return scheduledExecutorService instanceof ContextScheduledExecutorService
+                ? scheduledExecutorService : new ContextScheduledExecutorService(scheduledExecutorService);
+    }
+}
@@ -0,0 +1,89 @@
+package org.linkgems.rical.common.eve.component.deadline;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.rpc.RpcContext;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.utils.ThreadLocalUtil;
+
+/**
+ * @description: 请求截止时间。以epoch毫秒的绝对时间存放在ThreadLocalUtil中，由消费端{@link org.linkgems.rical.common.eve.filter.ContextAttachmentFilter}
+ * 随每次Dubbo调用传给下游并把调用超时限制在剩余预算内，下游据此得到剩余预算。跨机器比较依赖时钟同步，误差计入预算
+ * @author: meidanlong
+ * @date: 2026/10/17 4:50 AM
+ */
+public class DeadlineContext {
+
+    public final static String ATTACHMENT = "deadline";
+
+    private DeadlineContext() {
+    }
+
+    /**
+     * @return 当前截止时间，未设置时为null
+     */
+    public static Long current() {
+        return ThreadLocalUtil.get(ThreadLocalUtil.DEADLINE);
+    }
+
+    /**
+     * @return 剩余毫秒数，未设置截止时间时为Long.MAX_VALUE
+     */
+    public static long remainingMillis() {
+        Long deadline = current();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.currentTimeMillis();
+    }
+
+    /**
+     * 已超过截止时间时抛出DEADLINE_EXCEEDED，可在耗时循环中调用以尽早放弃
+     */
+    public static void check() {
+        if (remainingMillis() <= 0) {
+            throw new BaseException(ErrorEnum.DEADLINE_EXCEEDED);
+        }
+    }
+
+    /**
+     * 截止时间前是否来得及再执行一次
+     *
+     * @param deadline      截止时间，null表示不限
+     * @param delayMillis   执行前的等待
+     * @param attemptMillis 预计执行耗时，一般取上一次的耗时
+     * @return
+     */
+    public static boolean fits(Long deadline, long delayMillis, long attemptMillis) {
+        return deadline == null || System.currentTimeMillis() + delayMillis + attemptMillis < deadline;
+    }
+
+    /**
+     * 设置截止时间，之后发出的Dubbo调用均带上该截止时间；null表示清除
+     *
+     * @param deadline
+     */
+    public static void set(Long deadline) {
+        ThreadLocalUtil.set(ThreadLocalUtil.DEADLINE, deadline);
+        if (deadline == null) {
+            // RpcContext中可能留有上游透传的截止时间，清除后不受限的调用不会带上
+            RpcContext.getContext().removeAttachment(ATTACHMENT);
+        }
+    }
+
+    /**
+     * 入口处接收上游的截止时间，已超时的请求直接拒绝；须在ThreadLocalUtil上下文作用域内调用
+     *
+     * @param rpcContext
+     */
+    public static void accept(RpcContext rpcContext) {
+        Long deadline = current();
+        String attachment = rpcContext.getAttachment(ATTACHMENT);
+        if (StringUtils.isNumeric(attachment) && attachment.length() <= 18) {
+            long upstream = Long.parseLong(attachment);
+            deadline = deadline == null ? upstream : Math.min(deadline, upstream);
+        }
+        if (deadline == null) {
+            return;
+        }
+        ThreadLocalUtil.set(ThreadLocalUtil.DEADLINE, deadline);
+        check();
+    }
+}
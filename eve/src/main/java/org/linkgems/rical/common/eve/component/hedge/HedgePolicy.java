@@ -0,0 +1,91 @@
+package org.linkgems.rical.common.eve.component.hedge;
+
+import org.linkgems.rical.common.eve.component.retry.RetryBudget;
+import org.linkgems.rical.common.eve.component.stat.LatencyHistogram;
+import org.linkgems.rical.common.eve.domain.annotation.Hedge;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @description: 单个方法的对冲策略：近期耗时分布决定对冲延迟，令牌桶限制对冲比例。
+ * 耗时分布按周期轮换，延迟取上一个完整周期的分位数，每秒最多计算一次
+ * @author: meidanlong
+ * @date: 2026/10/17 4:35 AM
+ */
+public class HedgePolicy {
+
+    private static final long ROTATE_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    /**
+     * 对冲令牌桶容量，允许的短时突发对冲数
+     */
+    private static final int BUDGET_CAPACITY = 10;
+
+    private final double quantile;
+    private final long fixedDelayNanos;
+    private final long minSamples;
+    private final RetryBudget budget;
+    private final AtomicLong rotatedAt = new AtomicLong(System.nanoTime());
+    private volatile LatencyHistogram current = new LatencyHistogram();
+    private volatile LatencyHistogram previous;
+    private volatile long delayNanos = -1L;
+    private volatile long delayComputedAt = System.nanoTime() - REFRESH_NANOS;
+
+    public HedgePolicy(Hedge hedge) {
+        this.quantile = Math.min(Math.max(hedge.percentile(), 0D), 100D) / 100D;
+        this.fixedDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(hedge.delayMs(), 0L));
+        this.minSamples = Math.max(hedge.minSamples(), 1);
+        this.budget = new RetryBudget(hedge.maxHedgeRatio(), BUDGET_CAPACITY);
+    }
+
+    /**
+     * 每次调用存入对冲预算
+     */
+    public void onCall() {
+        budget.deposit();
+    }
+
+    /**
+     * 记录一次成功调用的耗时
+     *
+     * @param costNanos
+     */
+    public void record(long costNanos) {
+        long now = System.nanoTime();
+        long rotated = rotatedAt.get();
+        if (now - rotated >= ROTATE_NANOS && rotatedAt.compareAndSet(rotated, now)) {
+            previous = current;
+            current = new LatencyHistogram();
+        }
+        current.record(TimeUnit.NANOSECONDS.toMicros(costNanos));
+    }
+
+    /**
+     * @return 对冲延迟，样本不足时为-1，表示不对冲
+     */
+    public long getDelayNanos() {
+        if (fixedDelayNanos > 0) {
+            return fixedDelayNanos;
+        }
+        long now = System.nanoTime();
+        if (now - delayComputedAt >= REFRESH_NANOS) {
+            delayComputedAt = now;
+            LatencyHistogram histogram = previous;
+            if (histogram == null || histogram.getCount() < minSamples) {
+                histogram = current;
+            }
+            delayNanos = histogram.getCount() < minSamples ? -1L : TimeUnit.MICROSECONDS.toNanos(histogram.getPercentile(quantile));
+        }
+        return delayNanos;
+    }
+
+    /**
+     * 申请发起一次对冲
+     *
+     * @return
+     */
+    public boolean tryAcquireHedge() {
+        return budget.tryAcquire();
+    }
+}
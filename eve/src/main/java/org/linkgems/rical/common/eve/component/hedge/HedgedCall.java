@@ -0,0 +1,171 @@
+package org.linkgems.rical.common.eve.component.hedge;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.linkgems.rical.common.eve.component.context.CallContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @description: 一次对冲调用。首次调用发起后定时检查，仍未完成且有预算时发起第二次调用；
+ * 先成功的结果写入promise并取消另一个，全部失败时以首个失败结束。两次调用都在调用方的上下文（含RpcContext attachment）中执行
+ * @author: meidanlong
+ * @date: 2026/10/17 4:35 AM
+ */
+public class HedgedCall {
+
+    private final ProceedingJoinPoint joinPoint;
+    private final HedgePolicy policy;
+    /**
+     * 异步方法直接在当前线程调用，同步方法提交到executor
+     */
+    private final ExecutorService executor;
+    private final CompletableFuture<Object> promise = new CompletableFuture<>();
+    /**
+     * 调用方的上下文，对冲调用与线程池中的调用在其中执行
+     */
+    private final CallContext callContext = CallContext.capture();
+    /**
+     * 尚未结束的调用数，归零且没有成功结果时失败
+     */
+    private final AtomicInteger pending = new AtomicInteger(1);
+    private volatile Future<?> primary;
+    private volatile Future<?> hedge;
+    private volatile Throwable firstFailure;
+
+    public HedgedCall(ProceedingJoinPoint joinPoint, HedgePolicy policy, ExecutorService executor) {
+        this.joinPoint = joinPoint;
+        this.policy = policy;
+        this.executor = executor;
+    }
+
+    /**
+     * 发起首次调用并安排对冲
+     *
+     * @param scheduler
+     * @param delayNanos 对冲延迟
+     * @return 最终结果
+     */
+    public CompletableFuture<Object> start(ScheduledExecutorService scheduler, long delayNanos) {
+        primary = launch(false);
+        if (!promise.isDone()) {
+            try {
+                ScheduledFuture<?> timer = scheduler.schedule(this::hedge, delayNanos, TimeUnit.NANOSECONDS);
+                promise.whenComplete((result, th) -> timer.cancel(false));
+            } catch (RejectedExecutionException ex) {
+                // 应用关闭中，不再对冲
+            }
+        }
+        return promise;
+    }
+
+    /**
+     * 取消所有未完成的调用
+     */
+    public void cancel() {
+        promise.cancel(false);
+        cancel(primary);
+        cancel(hedge);
+    }
+
+    private void hedge() {
+        if (promise.isDone() || !policy.tryAcquireHedge()) {
+            return;
+        }
+        int current;
+        do {
+            current = pending.get();
+            if (current == 0) {
+                return;
+            }
+        } while (!pending.compareAndSet(current, current + 1));
+        Future<?> future = launch(true);
+        hedge = future;
+        // 首次调用可能在hedge赋值前已胜出，此时其取消动作看不到对冲调用
+        if (promise.isDone()) {
+            cancel(future);
+        }
+    }
+
+    private Future<?> launch(boolean hedged) {
+        long start = System.nanoTime();
+        if (executor == null) {
+            CompletableFuture<?> future;
+            try (CallContext.Scope ignored = callContext.attach()) {
+                future = toFuture(joinPoint.proceed());
+            } catch (Throwable th) {
+                onComplete(null, th, start, hedged);
+                return null;
+            }
+            future.whenComplete((result, th) -> onComplete(result, th, start, hedged));
+            return future;
+        }
+        Runnable task = () -> {
+            Object result;
+            try (CallContext.Scope ignored = callContext.attach()) {
+                result = joinPoint.proceed();
+            } catch (Throwable th) {
+                onComplete(null, th, start, hedged);
+                return;
+            }
+            onComplete(result, null, start, hedged);
+        };
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            if (hedged) {
+                // 线程池已满，放弃对冲
+                onComplete(null, ex, start, true);
+                return null;
+            }
+            // 线程池已满，首次调用退化为在调用线程上执行
+            task.run();
+            return null;
+        }
+    }
+
+    private void onComplete(Object result, Throwable th, long start, boolean hedged) {
+        if (th == null) {
+            policy.record(System.nanoTime() - start);
+            if (promise.complete(result)) {
+                cancel(hedged ? primary : hedge);
+            }
+            return;
+        }
+        if (firstFailure == null || (!hedged && firstFailure instanceof RejectedExecutionException)) {
+            firstFailure = unwrap(th);
+        }
+        if (pending.decrementAndGet() == 0) {
+            promise.completeExceptionally(firstFailure);
+        }
+    }
+
+    private static void cancel(Future<?> future) {
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    private static CompletableFuture<?> toFuture(Object result) {
+        if (result == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return ((CompletionStage<?>) result).toCompletableFuture();
+    }
+
+    private static Throwable unwrap(Throwable th) {
+        while ((th instanceof CompletionException || th instanceof ExecutionException) && th.getCause() != null) {
+            th = th.getCause();
+        }
+        return th;
+    }
+}
@@ -0,0 +1,71 @@
+package org.linkgems.rical.common.eve.component.key;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * @description: 按入参计算调用key：配置了SpEL表达式时取表达式的值，否则以全部入参为key。
+ * 表达式只解析一次，可被多线程共享
+ * @author: meidanlong
+ * @date: 2026/10/17 4:40 AM
+ */
+public class MethodKeyResolver {
+
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+    private static final ParameterNameDiscoverer DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private final Method method;
+    private final Expression expression;
+
+    /**
+     * @param method
+     * @param expression SpEL表达式，如"#userId"、"#request.tenantId"，为空时以全部入参为key
+     */
+    public MethodKeyResolver(Method method, String expression) {
+        this.method = method;
+        this.expression = StringUtils.isBlank(expression) ? null : PARSER.parseExpression(expression);
+    }
+
+    /**
+     * @param target 被调用对象
+     * @param args   入参
+     * @return 表达式结果可能为null
+     */
+    public Object resolve(Object target, Object[] args) {
+        if (expression == null) {
+            return new ArgsKey(args);
+        }
+        return expression.getValue(new MethodBasedEvaluationContext(target, method, args, DISCOVERER));
+    }
+
+    /**
+     * 以全部入参为key，复制入参数组避免调用方复用数组
+     */
+    private static final class ArgsKey {
+        private final Object[] args;
+        private final int hashCode;
+
+        private ArgsKey(Object[] args) {
+            this.args = args == null ? new Object[0] : args.clone();
+            this.hashCode = Arrays.deepHashCode(this.args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ArgsKey && hashCode == ((ArgsKey) o).hashCode && Arrays.deepEquals(args, ((ArgsKey) o).args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
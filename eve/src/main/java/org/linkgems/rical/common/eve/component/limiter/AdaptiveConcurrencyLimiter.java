@@ -0,0 +1,182 @@
+package org.linkgems.rical.common.eve.component.limiter;
+
+import org.linkgems.rical.common.eve.domain.dto.ConcurrencyLimitStatDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @description: 自适应并发限制（gradient算法）。按窗口统计平均RT（短期RT），与无负载RT（各窗口平均RT的最小值）比较：
+ * 短期RT超过无负载RT的容忍倍数说明请求开始排队，按比例收缩并发上限；否则以sqrt(limit)为余量缓慢探测更高的上限。
+ * 无负载RT每隔若干窗口用期间未排队窗口（并发不足上限一半或已处于下界）的最小RT重新确定，
+ * 以适应下游整体变慢等长期变化，又不会把排队后的RT误当作无负载RT而使上限持续上涨。
+ * 窗口内最大并发不足上限一半时不调整，避免低流量时上限无意义地膨胀
+ * @author: meidanlong
+ * @date: 2026/10/17 4:33 AM
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * 一个窗口至少的样本数，不足时延续到下一个窗口
+     */
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    /**
+     * 每隔多少个窗口重新探测无负载RT
+     */
+    private static final int NO_LOAD_PROBE_WINDOWS = 60;
+    /**
+     * 短期RT在无负载RT的该倍数以内视为未排队
+     */
+    private static final double RTT_TOLERANCE = 1.5D;
+    /**
+     * 新上限的平滑系数
+     */
+    private static final double SMOOTHING = 0.2D;
+
+    @Value("${rical.concurrency-limit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${rical.concurrency-limit.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${rical.concurrency-limit.min-limit:5}")
+    private int minLimit;
+
+    @Value("${rical.concurrency-limit.max-limit:1000}")
+    private int maxLimit;
+
+    @Value("${rical.concurrency-limit.window-ms:500}")
+    private long windowMs;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAccumulator windowMaxInFlight = new LongAccumulator(Math::max, 0L);
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private volatile long windowStart = System.nanoTime();
+    private volatile int limit = -1;
+    private volatile long shortRttNanos;
+    private volatile long noLoadRttNanos;
+    /**
+     * 以下字段只在updating保护下读写
+     */
+    private double estimatedLimit;
+    private double noLoadRtt;
+    private double probeRtt;
+    private int windows;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 申请一个并发许可
+     *
+     * @return 是否放行，放行后必须调用{@link #release}
+     */
+    public boolean tryAcquire() {
+        int currentLimit = getLimit();
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= currentLimit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        windowMaxInFlight.accumulate(current + 1);
+        return true;
+    }
+
+    /**
+     * 归还许可并记录本次RT
+     *
+     * @param rttNanos
+     */
+    public void release(long rttNanos) {
+        inFlight.decrementAndGet();
+        windowRttSum.add(rttNanos);
+        windowSamples.increment();
+        long now = System.nanoTime();
+        if (now - windowStart < TimeUnit.MILLISECONDS.toNanos(windowMs) || windowSamples.sum() < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+        if (!updating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (now - windowStart >= TimeUnit.MILLISECONDS.toNanos(windowMs)) {
+                windowStart = now;
+                update();
+            }
+        } finally {
+            updating.set(false);
+        }
+    }
+
+    private int getLimit() {
+        int currentLimit = limit;
+        if (currentLimit < 0) {
+            synchronized (this) {
+                if (limit < 0) {
+                    estimatedLimit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+                    limit = (int) estimatedLimit;
+                }
+                currentLimit = limit;
+            }
+        }
+        return currentLimit;
+    }
+
+    private void update() {
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSum.sumThenReset();
+        long maxInFlight = windowMaxInFlight.getThenReset();
+        if (samples <= 0) {
+            return;
+        }
+        getLimit();
+        double shortRtt = (double) rttSum / samples;
+        if (maxInFlight <= Math.max(minLimit, estimatedLimit / 2) && (probeRtt == 0D || shortRtt < probeRtt)) {
+            probeRtt = shortRtt;
+        }
+        if (noLoadRtt == 0D || shortRtt < noLoadRtt) {
+            noLoadRtt = shortRtt;
+        }
+        if (++windows >= NO_LOAD_PROBE_WINDOWS) {
+            if (probeRtt > 0D) {
+                noLoadRtt = probeRtt;
+            }
+            probeRtt = 0D;
+            windows = 0;
+        }
+        shortRttNanos = (long) shortRtt;
+        noLoadRttNanos = (long) noLoadRtt;
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5D, Math.min(1D, RTT_TOLERANCE * noLoadRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.min(Math.max(newLimit, minLimit), maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    public ConcurrencyLimitStatDTO snapshot() {
+        ConcurrencyLimitStatDTO dto = new ConcurrencyLimitStatDTO();
+        dto.setEnabled(enabled);
+        dto.setLimit(getLimit());
+        dto.setInFlight(inFlight.get());
+        dto.setRejected(rejected.sum());
+        dto.setShortRtt(shortRttNanos / 1000000D);
+        dto.setNoLoadRtt(noLoadRttNanos / 1000000D);
+        return dto;
+    }
+}
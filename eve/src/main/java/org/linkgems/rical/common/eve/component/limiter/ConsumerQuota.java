@@ -0,0 +1,149 @@
+package org.linkgems.rical.common.eve.component.limiter;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.domain.dto.ConsumerQuotaStatDTO;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @description: 单个上游应用的并发与速率配额及使用统计，均为无锁计数。
+ * 配额由{@link ConsumerQuotaLimiter}按当前活跃上游的权重定期调整，另受全部上游共用的总并发与总速率约束
+ * @author: meidanlong
+ * @date: 2026/10/17 5:05 AM
+ */
+public class ConsumerQuota {
+
+    @Getter
+    private final String consumer;
+    @Getter
+    private final int weight;
+    private volatile int maxConcurrency;
+    private volatile double permitsPerSecond;
+    /**
+     * 速率配额，未配置总速率时为null
+     */
+    private volatile TokenBucket rateBucket;
+    /**
+     * 全部上游共用的总并发与总速率（未配置时为null），保证各上游配额之和不超过总量
+     */
+    private final AtomicInteger totalInFlight;
+    private final int totalConcurrency;
+    private final TokenBucket totalRate;
+    private volatile long lastAcquireNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAccumulator peakInFlight = new LongAccumulator(Math::max, 0L);
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder concurrencyRejected = new LongAdder();
+    private final LongAdder rateRejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rtNanos = new LongAdder();
+
+    ConsumerQuota(String consumer, int weight, AtomicInteger totalInFlight, int totalConcurrency, TokenBucket totalRate) {
+        this.consumer = consumer;
+        this.weight = weight;
+        this.totalInFlight = totalInFlight;
+        this.totalConcurrency = totalConcurrency;
+        this.totalRate = totalRate;
+        this.lastAcquireNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+    }
+
+    /**
+     * 调整配额，速率变化时重建令牌桶
+     *
+     * @param maxConcurrency
+     * @param permitsPerSecond 0表示不限
+     */
+    void resize(int maxConcurrency, double permitsPerSecond) {
+        this.maxConcurrency = maxConcurrency;
+        if (permitsPerSecond != this.permitsPerSecond) {
+            // 突发容量为一秒的配额
+            this.rateBucket = permitsPerSecond > 0 ? new TokenBucket(permitsPerSecond, (int) Math.max(1D, permitsPerSecond)) : null;
+            this.permitsPerSecond = permitsPerSecond;
+        }
+    }
+
+    void touch(long now) {
+        lastAcquireNanos = now;
+    }
+
+    /**
+     * 有调用在执行或activeNanos内申请过即为活跃
+     *
+     * @param now
+     * @param activeNanos
+     * @return
+     */
+    boolean isActive(long now, long activeNanos) {
+        return inFlight.get() > 0 || now - lastAcquireNanos < activeNanos;
+    }
+
+    /**
+     * 申请一次调用
+     *
+     * @return 拒绝原因，放行时为null，放行后必须调用{@link #release}
+     */
+    public Rejection tryAcquire() {
+        long now = System.nanoTime();
+        lastAcquireNanos = now;
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxConcurrency) {
+                concurrencyRejected.increment();
+                return Rejection.CONCURRENCY;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        if (totalInFlight.incrementAndGet() > totalConcurrency) {
+            totalInFlight.decrementAndGet();
+            inFlight.decrementAndGet();
+            concurrencyRejected.increment();
+            return Rejection.CONCURRENCY;
+        }
+        TokenBucket bucket = rateBucket;
+        if ((bucket != null && !bucket.tryAcquire(now)) || (totalRate != null && !totalRate.tryAcquire(now))) {
+            totalInFlight.decrementAndGet();
+            inFlight.decrementAndGet();
+            rateRejected.increment();
+            return Rejection.RATE;
+        }
+        peakInFlight.accumulate(current + 1);
+        admitted.increment();
+        return null;
+    }
+
+    /**
+     * 归还并发配额并记录本次RT
+     *
+     * @param rtNanos
+     */
+    public void release(long rtNanos) {
+        totalInFlight.decrementAndGet();
+        inFlight.decrementAndGet();
+        completed.increment();
+        this.rtNanos.add(rtNanos);
+    }
+
+    public ConsumerQuotaStatDTO snapshot() {
+        ConsumerQuotaStatDTO dto = new ConsumerQuotaStatDTO();
+        dto.setConsumer(consumer);
+        dto.setWeight(weight);
+        dto.setMaxConcurrency(maxConcurrency);
+        dto.setMaxQps(permitsPerSecond);
+        dto.setInFlight(inFlight.get());
+        dto.setPeakInFlight(peakInFlight.get());
+        dto.setAdmitted(admitted.sum());
+        dto.setConcurrencyRejected(concurrencyRejected.sum());
+        dto.setRateRejected(rateRejected.sum());
+        long completedCount = completed.sum();
+        dto.setAvgRt(completedCount == 0 ? 0D : rtNanos.sum() / 1000000D / completedCount);
+        return dto;
+    }
+
+    public enum Rejection {
+        CONCURRENCY,
+        RATE
+    }
+}
@@ -0,0 +1,172 @@
+package org.linkgems.rical.common.eve.component.limiter;
+
+import org.apache.commons.lang3.StringUtils;
+import org.linkgems.rical.common.eve.domain.dto.ConsumerQuotaStatDTO;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @description: 按上游应用（consumerAppKey）的公平配额。总并发与总速率按权重分给当前活跃的上游：
+ * 每个上游的配额为 权重 / 活跃上游的权重之和，未配置权重的上游按默认权重计算；不活跃的上游按加入后的权重之和预留配额，
+ * 空闲上游的份额在下次调整时分给其他上游。配额每100ms按活跃上游调整一次，期间新加入的上游可能使配额之和短暂超出总量，
+ * 因此另设全部上游共用的总并发与总速率作为硬上限。
+ * 某个上游的批量任务打满自己的配额后只会被拒绝，不会挤占其他上游的交互流量。
+ * 单独跟踪的上游数有上限，超出后未配置的上游共用一份默认配额
+ * @author: meidanlong
+ * @date: 2026/10/17 5:05 AM
+ */
+@Component
+public class ConsumerQuotaLimiter implements InitializingBean {
+
+    private static final int MAX_CONSUMERS = 256;
+    private static final String OVERFLOW_CONSUMER = "*";
+    /**
+     * 该时长内申请过配额的上游视为活跃
+     */
+    private static final long ACTIVE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long RESIZE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Value("${rical.consumer-quota.enabled:false}")
+    private boolean enabled;
+
+    @Value("${rical.consumer-quota.max-concurrency:200}")
+    private int maxConcurrency;
+
+    @Value("${rical.consumer-quota.max-qps:0}")
+    private double maxQps;
+
+    /**
+     * 格式为 appKey:权重,appKey:权重
+     */
+    @Value("${rical.consumer-quota.weights:}")
+    private String weights;
+
+    @Value("${rical.consumer-quota.default-weight:1}")
+    private int defaultWeight;
+
+    private final Map<String, ConsumerQuota> quotas = new ConcurrentHashMap<>();
+    private final AtomicInteger totalInFlight = new AtomicInteger();
+    private final AtomicLong nextResize = new AtomicLong(System.nanoTime());
+    private volatile int activeWeight;
+    private TokenBucket totalRate;
+    private ConsumerQuota overflow;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (maxConcurrency <= 0 || defaultWeight <= 0) {
+            throw new IllegalArgumentException("rical.consumer-quota.max-concurrency and default-weight must be positive");
+        }
+        Map<String, Integer> configured = parseWeights(weights);
+        totalRate = maxQps > 0 ? new TokenBucket(maxQps, (int) Math.max(1D, maxQps)) : null;
+        for (Map.Entry<String, Integer> entry : configured.entrySet()) {
+            quotas.put(entry.getKey(), newQuota(entry.getKey(), entry.getValue()));
+        }
+        overflow = newQuota(OVERFLOW_CONSUMER, defaultWeight);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param consumer 上游应用的consumerAppKey
+     * @return 该上游的配额
+     */
+    public ConsumerQuota quotaOf(String consumer) {
+        ConsumerQuota quota = quotas.get(consumer);
+        if (quota == null) {
+            if (quotas.size() >= MAX_CONSUMERS) {
+                return overflow;
+            }
+            quota = quotas.computeIfAbsent(consumer, k -> newQuota(k, defaultWeight));
+        }
+        long now = System.nanoTime();
+        if (!quota.isActive(now, ACTIVE_NANOS)) {
+            // 上游新加入或重新活跃时立即收缩其他上游的配额，使占满总量的上游在一个RT内退回自己的份额
+            quota.touch(now);
+            nextResize.set(now + RESIZE_INTERVAL_NANOS);
+            resize(now);
+            return quota;
+        }
+        long next = nextResize.get();
+        if (now - next >= 0 && nextResize.compareAndSet(next, now + RESIZE_INTERVAL_NANOS)) {
+            resize(now);
+        }
+        return quota;
+    }
+
+    /**
+     * 按当前活跃上游的权重之和重新分配配额
+     *
+     * @param now
+     */
+    private void resize(long now) {
+        int weight = 0;
+        for (ConsumerQuota quota : quotas.values()) {
+            if (quota.isActive(now, ACTIVE_NANOS)) {
+                weight += quota.getWeight();
+            }
+        }
+        if (overflow.isActive(now, ACTIVE_NANOS)) {
+            weight += overflow.getWeight();
+        }
+        activeWeight = weight;
+        for (ConsumerQuota quota : quotas.values()) {
+            resize(quota, weight, quota.isActive(now, ACTIVE_NANOS));
+        }
+        resize(overflow, weight, overflow.isActive(now, ACTIVE_NANOS));
+    }
+
+    private void resize(ConsumerQuota quota, int activeWeight, boolean active) {
+        long weightSum = active ? activeWeight : (long) activeWeight + quota.getWeight();
+        int concurrency = (int) Math.max(1L, (long) maxConcurrency * quota.getWeight() / weightSum);
+        double qps = maxQps > 0 ? maxQps * quota.getWeight() / weightSum : 0D;
+        quota.resize(concurrency, qps);
+    }
+
+    private ConsumerQuota newQuota(String consumer, int weight) {
+        ConsumerQuota quota = new ConsumerQuota(consumer, weight, totalInFlight, maxConcurrency, totalRate);
+        resize(quota, activeWeight, false);
+        return quota;
+    }
+
+    private static Map<String, Integer> parseWeights(String weights) {
+        Map<String, Integer> result = new HashMap<>();
+        if (StringUtils.isBlank(weights)) {
+            return result;
+        }
+        for (String item : weights.split(",")) {
+            if (StringUtils.isBlank(item)) {
+                continue;
+            }
+            String[] pair = item.split(":");
+            String weight = pair.length == 2 ? pair[1].trim() : null;
+            if (pair.length != 2 || StringUtils.isBlank(pair[0]) || !StringUtils.isNumeric(weight) || weight.length() > 9 || Integer.parseInt(weight) <= 0) {
+                throw new IllegalArgumentException("invalid rical.consumer-quota.weights entry: " + item);
+            }
+            result.put(pair[0].trim(), Integer.parseInt(weight));
+        }
+        return result;
+    }
+
+    public List<ConsumerQuotaStatDTO> snapshot() {
+        List<ConsumerQuotaStatDTO> result = new ArrayList<>();
+        for (ConsumerQuota quota : quotas.values()) {
+            result.add(quota.snapshot());
+        }
+        if (quotas.size() >= MAX_CONSUMERS) {
+            result.add(overflow.snapshot());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package org.linkgems.rical.common.eve.component.limiter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @description: 按key限流，每个key一个{@link TokenBucket}。桶数量有上限，空闲桶在新key到来时顺带清理；
+ * 清理后仍达到上限时，新key共用一个溢出令牌桶，避免大量不同key撑爆内存
+ * @author: meidanlong
+ * @date: 2026/10/17 4:30 AM
+ */
+public class KeyedRateLimiter {
+
+    /**
+     * 桶数已满时两次清理的最小间隔，避免每个新key都遍历全表
+     */
+    private static final long FULL_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxKeys;
+    private final long idleNanos;
+    private final Map<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile long lastSweep = System.nanoTime();
+
+    public KeyedRateLimiter(double permitsPerSecond, int burst, int maxKeys, long idleMillis) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxKeys = Math.max(maxKeys, 1);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(idleMillis, 0L));
+        this.overflow = new TokenBucket(permitsPerSecond, burst);
+    }
+
+    public boolean tryAcquire(Object key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = create(key);
+        }
+        return bucket.tryAcquire();
+    }
+
+    private TokenBucket create(Object key) {
+        long now = System.nanoTime();
+        boolean full = buckets.size() >= maxKeys;
+        if (now - lastSweep > (full ? Math.min(idleNanos, FULL_SWEEP_INTERVAL_NANOS) : idleNanos)) {
+            sweep(now);
+            full = buckets.size() >= maxKeys;
+        }
+        if (full) {
+            return overflow;
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(permitsPerSecond, burst));
+    }
+
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lastSweep = now;
+            buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,57 @@
+package org.linkgems.rical.common.eve.component.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @description: 无锁令牌桶，按GCRA实现：只保存下一个令牌的理论到达时间（TAT），一次获取即一次CAS，
+ * 无需后台补充令牌。TAT不晚于当前时间即为满桶
+ * @author: meidanlong
+ * @date: 2026/10/17 4:30 AM
+ */
+public class TokenBucket {
+
+    /**
+     * 生成一个令牌的间隔
+     */
+    private final long intervalNanos;
+    /**
+     * 允许TAT超前当前时间的最大值，即突发容量
+     */
+    private final long burstNanos;
+    private final AtomicLong tat;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this.intervalNanos = Math.max((long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond), 1L);
+        this.burstNanos = this.intervalNanos * Math.max(burst, 1);
+        this.tat = new AtomicLong(System.nanoTime());
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    public boolean tryAcquire(long now) {
+        long current;
+        long next;
+        do {
+            current = tat.get();
+            next = (current - now > 0 ? current : now) + intervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+        } while (!tat.compareAndSet(current, next));
+        return true;
+    }
+
+    /**
+     * 是否已满桶且空闲超过idleNanos
+     *
+     * @param now
+     * @param idleNanos
+     * @return
+     */
+    public boolean isIdle(long now, long idleNanos) {
+        return now - tat.get() > idleNanos;
+    }
+}
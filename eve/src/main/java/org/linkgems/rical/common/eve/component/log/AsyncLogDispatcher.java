@@ -0,0 +1,216 @@
+package org.linkgems.rical.common.eve.component.log;
+
+import lombok.extern.slf4j.Slf4j;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * @description: 异步日志分发器。
+ *                  业务线程只负责把事件放入有界环形队列，由独立的渲染线程序列化并输出日志
+ * @author: meidanlong
+ * @date: 2026/10/17 4:12 AM
+ */
+@Slf4j
+public class AsyncLogDispatcher {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long REPORT_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int SPIN_TIMES = 100;
+
+    /**
+     * 队列满时的处理策略
+     */
+    public enum OverflowPolicy {
+        /**
+         * 直接丢弃
+         */
+        DROP,
+        /**
+         * 队列过半后按sampleRate抽样入队，队列满时丢弃
+         */
+        SAMPLE,
+        /**
+         * 阻塞业务线程直至有空位
+         */
+        BLOCK;
+
+        public static OverflowPolicy of(String name) {
+            for (OverflowPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(name == null ? null : name.trim())) {
+                    return policy;
+                }
+            }
+            return DROP;
+        }
+    }
+
+    private final LogRingBuffer ringBuffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final int sampleThreshold;
+    private final Consumer<LogEvent> renderer;
+    private final Thread renderThread;
+    private volatile boolean running;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private long lastReportDropped;
+    private long lastReportTime = System.currentTimeMillis();
+
+    /**
+     * @param bufferSize     队列容量
+     * @param overflowPolicy 队列满时的处理策略
+     * @param sampleRate     SAMPLE策略下每sampleRate个事件保留1个
+     * @param renderer       渲染逻辑，仅在渲染线程执行
+     */
+    public AsyncLogDispatcher(int bufferSize, OverflowPolicy overflowPolicy, int sampleRate, Consumer<LogEvent> renderer) {
+        this.ringBuffer = new LogRingBuffer(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(sampleRate, 1);
+        this.sampleThreshold = ringBuffer.getCapacity() >> 1;
+        this.renderer = renderer;
+        this.renderThread = new Thread(this::renderLoop, "rical-log-render");
+        this.renderThread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        renderThread.start();
+    }
+
+    /**
+     * 停止渲染线程，尽量输出队列中剩余的事件
+     *
+     * @param timeoutMillis
+     */
+    public void stop(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(renderThread);
+        try {
+            renderThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 发布事件，返回是否入队
+     *
+     * @param event
+     * @return
+     */
+    public boolean publish(LogEvent event) {
+        switch (overflowPolicy) {
+            case SAMPLE:
+                if (ringBuffer.size() >= sampleThreshold && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+                    sampledOut.increment();
+                    return false;
+                }
+                return offerOrDrop(event);
+            case BLOCK:
+                return offerOrBlock(event);
+            case DROP:
+            default:
+                return offerOrDrop(event);
+        }
+    }
+
+    private boolean offerOrDrop(LogEvent event) {
+        if (ringBuffer.offer(event)) {
+            published.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private boolean offerOrBlock(LogEvent event) {
+        if (ringBuffer.offer(event)) {
+            published.increment();
+            return true;
+        }
+        blocked.increment();
+        while (running) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (ringBuffer.offer(event)) {
+                published.increment();
+                return true;
+            }
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private void renderLoop() {
+        int idle = 0;
+        while (running || !ringBuffer.isEmpty()) {
+            LogEvent event = ringBuffer.poll();
+            if (event == null) {
+                if (++idle < SPIN_TIMES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                reportIfNecessary();
+                continue;
+            }
+            idle = 0;
+            try {
+                renderer.accept(event);
+            } catch (Throwable th) {
+                log.error("{}[AsyncLogDispatcher.renderLoop] - exception={}", LogMarkConstant.LOG_ERROR_MARK, th.getMessage(), th);
+            }
+        }
+        reportIfNecessary();
+    }
+
+    /**
+     * 周期性输出丢弃统计，只在渲染线程调用
+     */
+    private void reportIfNecessary() {
+        long now = System.currentTimeMillis();
+        if (now - lastReportTime < REPORT_INTERVAL_MILLIS && running) {
+            return;
+        }
+        lastReportTime = now;
+        long totalDropped = getDroppedCount();
+        if (totalDropped > lastReportDropped) {
+            log.warn("{}[AsyncLogDispatcher] - {} log events dropped in last period, published={}, dropped={}, sampledOut={}, blocked={}",
+                    LogMarkConstant.LOG_ERROR_MARK, totalDropped - lastReportDropped, published.sum(), dropped.sum(), sampledOut.sum(), blocked.sum());
+            lastReportDropped = totalDropped;
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * 丢弃总数，包含队列满丢弃与抽样丢弃
+     *
+     * @return
+     */
+    public long getDroppedCount() {
+        return dropped.sum() + sampledOut.sum();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    public int getPendingCount() {
+        return ringBuffer.size();
+    }
+}
@@ -0,0 +1,167 @@
+package org.linkgems.rical.common.eve.component.log;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @description: 二进制日志解码工具，将分段文件还原为可读文本。
+ *                  用法：java -cp common.eve.jar org.linkgems.rical.common.eve.component.log.BinaryLogDecoder {目录或分段文件} [输出文件]
+ * @author: meidanlong
+ * @date: 2026/10/17 4:18 AM
+ */
+public class BinaryLogDecoder {
+
+    private static final String TIME_PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: BinaryLogDecoder <directory|segment> [output]");
+            return;
+        }
+        Path source = Paths.get(args[0]);
+        try (PrintStream out = args.length > 1 ? new PrintStream(Files.newOutputStream(Paths.get(args[1])), false, "UTF-8") : System.out) {
+            decode(source, out::println);
+        }
+    }
+
+    /**
+     * 解码目录下全部分段（按文件名排序）或单个分段
+     *
+     * @param source   目录或分段文件
+     * @param consumer 逐行输出
+     */
+    public static void decode(Path source, Consumer<String> consumer) throws IOException {
+        Path directory = Files.isDirectory(source) ? source : source.toAbsolutePath().getParent();
+        Map<Integer, String> methods = readMethodIndex(directory.resolve(BinaryLogFormat.METHOD_INDEX_NAME));
+        List<Path> segments = new ArrayList<>();
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> stream = Files.list(source)) {
+                segments = stream.filter(p -> p.getFileName().toString().endsWith(BinaryLogFormat.SEGMENT_SUFFIX))
+                        .sorted(BinaryLogDecoder::compareSegment)
+                        .collect(Collectors.toList());
+            }
+        } else {
+            segments.add(source);
+        }
+        for (Path segment : segments) {
+            decodeSegment(segment, methods, consumer);
+        }
+    }
+
+    private static void decodeSegment(Path segment, Map<Integer, String> methods, Consumer<String> consumer) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < BinaryLogFormat.SEGMENT_HEADER_SIZE || buffer.getInt(0) != BinaryLogFormat.MAGIC) {
+            consumer.accept("# skip " + segment + ": not a binary log segment");
+            return;
+        }
+        SimpleDateFormat format = new SimpleDateFormat(TIME_PATTERN);
+        int position = BinaryLogFormat.SEGMENT_HEADER_SIZE;
+        int skipped = 0;
+        while (position + BinaryLogFormat.RECORD_HEADER_SIZE <= buffer.limit()) {
+            int length = buffer.getInt(position + BinaryLogFormat.OFFSET_LENGTH);
+            if (length < 0 && isRecordSize(-length) && position - length <= buffer.limit()) {
+                // 未提交的记录
+                skipped++;
+                position -= length;
+                continue;
+            }
+            if (length <= 0 || !isRecordSize(length) || position + length > buffer.limit()) {
+                // 未占位或已损坏，按对齐向后查找
+                position += 8;
+                continue;
+            }
+            int methodId = buffer.getInt(position + BinaryLogFormat.OFFSET_METHOD_ID);
+            long timestamp = buffer.getLong(position + BinaryLogFormat.OFFSET_TIMESTAMP);
+            long cost = buffer.getLong(position + BinaryLogFormat.OFFSET_COST);
+            byte outcome = buffer.get(position + BinaryLogFormat.OFFSET_OUTCOME);
+            int codeLength = buffer.get(position + BinaryLogFormat.OFFSET_CODE_LENGTH) & 0xFF;
+            int payloadLength = buffer.getShort(position + BinaryLogFormat.OFFSET_PAYLOAD_LENGTH) & 0xFFFF;
+            if (BinaryLogFormat.recordSize(codeLength, payloadLength) != length) {
+                position += 8;
+                continue;
+            }
+            int offset = position + BinaryLogFormat.RECORD_HEADER_SIZE;
+            byte[] code = new byte[codeLength];
+            for (int i = 0; i < codeLength; i++) {
+                code[i] = buffer.get(offset++);
+            }
+            byte[] payload = new byte[payloadLength];
+            for (int i = 0; i < payloadLength; i++) {
+                payload[i] = buffer.get(offset++);
+            }
+            StringBuilder line = new StringBuilder(128)
+                    .append(format.format(new Date(timestamp)))
+                    .append(" ").append(methods.getOrDefault(methodId, "[method#" + methodId + "]")).append(" ")
+                    .append(BinaryLogFormat.outcomeName(outcome))
+                    .append(" cost=").append(cost / 1000 / 1000D).append("ms");
+            if (codeLength > 0) {
+                line.append(" code=").append(new String(code, StandardCharsets.US_ASCII));
+            }
+            if (payloadLength > 0) {
+                line.append(" payload=").append(new String(payload, StandardCharsets.UTF_8));
+            }
+            consumer.accept(line.toString());
+            position += length;
+        }
+        if (skipped > 0) {
+            consumer.accept("# skip " + skipped + " uncommitted record(s) in " + segment);
+        }
+    }
+
+    private static boolean isRecordSize(int length) {
+        return length >= BinaryLogFormat.RECORD_HEADER_SIZE && (length & 7) == 0;
+    }
+
+    private static Map<Integer, String> readMethodIndex(Path index) throws IOException {
+        Map<Integer, String> methods = new HashMap<>();
+        if (!Files.exists(index)) {
+            return methods;
+        }
+        for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+            int separator = line.indexOf(BinaryLogFormat.METHOD_INDEX_SEPARATOR);
+            if (separator > 0) {
+                methods.put(Integer.parseInt(line.substring(0, separator).trim()), line.substring(separator + 1));
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * 分段文件名为segment-{创建时间}-{序号}.bin，按创建时间、序号排序
+     */
+    private static int compareSegment(Path a, Path b) {
+        long[] ka = segmentKey(a);
+        long[] kb = segmentKey(b);
+        int compare = Long.compare(ka[0], kb[0]);
+        return compare != 0 ? compare : Long.compare(ka[1], kb[1]);
+    }
+
+    private static long[] segmentKey(Path path) {
+        String name = path.getFileName().toString();
+        String[] parts = name.substring(0, name.length() - BinaryLogFormat.SEGMENT_SUFFIX.length()).split("-");
+        try {
+            return new long[]{Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+        } catch (RuntimeException e) {
+            return new long[]{Long.MAX_VALUE, Long.MAX_VALUE};
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.linkgems.rical.common.eve.component.log;
+
+/**
+ * @description: 二进制日志格式。
+ *                  分段头16字节：magic(4) version(4) createTime(8)；
+ *                  记录头28字节：length(4) methodId(4) timestamp(8) cost(8) outcome(1) codeLength(1) payloadLength(2)，
+ *                  其后依次为错误码（ASCII）与负载，整条记录按8字节对齐。
+ *                  写入前先以负的记录长度占位，写完后改为正数提交：负数表示记录未写完（写入中或进程崩溃），按其绝对值跳过；
+ *                  0表示占位前中断或分段已读完，按8字节向后查找下一条记录
+ * @author: meidanlong
+ * @date: 2026/10/17 4:18 AM
+ */
+public class BinaryLogFormat {
+
+    public final static int MAGIC = 0x524C4F47;
+    public final static int VERSION = 1;
+    public final static int SEGMENT_HEADER_SIZE = 16;
+    public final static String SEGMENT_NAME = "segment-%d-%d.bin";
+    public final static String SEGMENT_SUFFIX = ".bin";
+    public final static String METHOD_INDEX_NAME = "methods.idx";
+    public final static String METHOD_INDEX_SEPARATOR = "=";
+
+    public final static int OFFSET_LENGTH = 0;
+    public final static int OFFSET_METHOD_ID = 4;
+    public final static int OFFSET_TIMESTAMP = 8;
+    public final static int OFFSET_COST = 16;
+    public final static int OFFSET_OUTCOME = 24;
+    public final static int OFFSET_CODE_LENGTH = 25;
+    public final static int OFFSET_PAYLOAD_LENGTH = 26;
+    public final static int RECORD_HEADER_SIZE = 28;
+
+    public final static int MAX_ERROR_CODE_LENGTH = 32;
+    public final static int MAX_PAYLOAD_LENGTH = 0xFFFF;
+
+    public final static byte OUTCOME_SUCCESS = 0;
+    public final static byte OUTCOME_BUSINESS_EXCEPTION = 1;
+    public final static byte OUTCOME_EXCEPTION = 2;
+
+    public static int recordSize(int codeLength, int payloadLength) {
+        return (RECORD_HEADER_SIZE + codeLength + payloadLength + 7) & ~7;
+    }
+
+    public static String outcomeName(byte outcome) {
+        switch (outcome) {
+            case OUTCOME_SUCCESS:
+                return "SUCCESS";
+            case OUTCOME_BUSINESS_EXCEPTION:
+                return "BUSINESS_EXCEPTION";
+            case OUTCOME_EXCEPTION:
+                return "EXCEPTION";
+            default:
+                return "UNKNOWN";
+        }
+    }
+}
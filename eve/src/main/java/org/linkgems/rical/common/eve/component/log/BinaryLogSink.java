@@ -0,0 +1,277 @@
+package org.linkgems.rical.common.eve.component.log;
+
+import lombok.extern.slf4j.Slf4j;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * @description: 二进制日志输出，写入滚动的内存映射分段文件。
+ *                  方法在解析元数据时预先注册为数字id（写入methods.idx），
+ *                  追加记录时CAS抢占写入位置后直接写入映射内存，无锁、无拷贝，无负载时不分配对象。
+ *                  记录格式见{@link BinaryLogFormat}，可用{@link BinaryLogDecoder}还原为文本
+ * @author: meidanlong
+ * @date: 2026/10/17 4:18 AM
+ */
+@Slf4j
+public class BinaryLogSink {
+
+    private static final String SEGMENT_PREFIX = BinaryLogFormat.SEGMENT_NAME.substring(0, BinaryLogFormat.SEGMENT_NAME.indexOf('%'));
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final int maxPayloadBytes;
+
+    private final Map<String, Integer> methodIds = new ConcurrentHashMap<>();
+    private final AtomicInteger methodIdGenerator = new AtomicInteger();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private volatile Segment current;
+    private volatile boolean closed;
+    private int segmentSeq;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * @param directory       分段文件目录
+     * @param segmentSize     单个分段大小，单位byte
+     * @param maxSegments     保留的分段数，超出后删除最旧的分段
+     * @param maxPayloadBytes 单条记录负载上限，单位byte
+     */
+    public BinaryLogSink(String directory, int segmentSize, int maxSegments, int maxPayloadBytes) throws IOException {
+        this.directory = Paths.get(directory);
+        this.segmentSize = Math.max(segmentSize, 1 << 16);
+        this.maxSegments = Math.max(maxSegments, 1);
+        this.maxPayloadBytes = Math.max(Math.min(Math.min(maxPayloadBytes, this.segmentSize >> 4), BinaryLogFormat.MAX_PAYLOAD_LENGTH), 0);
+        Files.createDirectories(this.directory);
+        loadMethodIndex();
+        loadSegments();
+        this.current = createSegment();
+    }
+
+    /**
+     * 注册方法，返回方法id。同名方法返回同一个id
+     *
+     * @param name
+     * @return
+     */
+    public int register(String name) {
+        return methodIds.computeIfAbsent(name, key -> {
+            int id = methodIdGenerator.incrementAndGet();
+            writeMethodIndex(id, key);
+            return id;
+        });
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @param methodId   方法id
+     * @param timestamp  调用结束时间戳
+     * @param costNanos  耗时，单位ns
+     * @param outcome    调用结果，见BinaryLogFormat.OUTCOME_*
+     * @param errorCode  错误码，仅ASCII，可为null
+     * @param payload    负载，超出上限截断，可为null
+     */
+    public void append(int methodId, long timestamp, long costNanos, byte outcome, String errorCode, byte[] payload) {
+        if (closed) {
+            return;
+        }
+        int codeLength = errorCode == null ? 0 : Math.min(errorCode.length(), BinaryLogFormat.MAX_ERROR_CODE_LENGTH);
+        int payloadLength = payload == null ? 0 : Math.min(payload.length, maxPayloadBytes);
+        int size = BinaryLogFormat.recordSize(codeLength, payloadLength);
+        while (true) {
+            Segment segment = current;
+            int position = segment.position.getAndAdd(size);
+            if (position + size <= segmentSize) {
+                write(segment.buffer, position, size, methodId, timestamp, costNanos, outcome, errorCode, codeLength, payload, payloadLength);
+                appended.increment();
+                return;
+            }
+            if (!roll(segment)) {
+                failed.increment();
+                return;
+            }
+        }
+    }
+
+    private void write(MappedByteBuffer buffer, int position, int size, int methodId, long timestamp, long costNanos,
+                       byte outcome, String errorCode, int codeLength, byte[] payload, int payloadLength) {
+        // 先占位，记录未写完时解码端也能跳过
+        buffer.putInt(position + BinaryLogFormat.OFFSET_LENGTH, -size);
+        buffer.putInt(position + BinaryLogFormat.OFFSET_METHOD_ID, methodId);
+        buffer.putLong(position + BinaryLogFormat.OFFSET_TIMESTAMP, timestamp);
+        buffer.putLong(position + BinaryLogFormat.OFFSET_COST, costNanos);
+        buffer.put(position + BinaryLogFormat.OFFSET_OUTCOME, outcome);
+        buffer.put(position + BinaryLogFormat.OFFSET_CODE_LENGTH, (byte) codeLength);
+        buffer.putShort(position + BinaryLogFormat.OFFSET_PAYLOAD_LENGTH, (short) payloadLength);
+        int offset = position + BinaryLogFormat.RECORD_HEADER_SIZE;
+        for (int i = 0; i < codeLength; i++) {
+            buffer.put(offset++, (byte) errorCode.charAt(i));
+        }
+        for (int i = 0; i < payloadLength; i++) {
+            buffer.put(offset++, payload[i]);
+        }
+        // 长度改为正数，作为记录完整的标记
+        buffer.putInt(position + BinaryLogFormat.OFFSET_LENGTH, size);
+    }
+
+    /**
+     * 当前分段写满后切换到新分段，仅由抢占失败的线程调用
+     */
+    private synchronized boolean roll(Segment full) {
+        if (closed) {
+            return false;
+        }
+        if (current != full) {
+            return true;
+        }
+        try {
+            current = createSegment();
+            return true;
+        } catch (IOException e) {
+            log.error("{}[BinaryLogSink.roll] - exception={}", LogMarkConstant.LOG_ERROR_MARK, e.getMessage(), e);
+            closed = true;
+            return false;
+        }
+    }
+
+    private Segment createSegment() throws IOException {
+        Path path = directory.resolve(String.format(BinaryLogFormat.SEGMENT_NAME, System.currentTimeMillis(), segmentSeq++));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.putInt(0, BinaryLogFormat.MAGIC);
+            buffer.putInt(4, BinaryLogFormat.VERSION);
+            buffer.putLong(8, System.currentTimeMillis());
+            Segment segment = new Segment(path, buffer);
+            segments.addLast(segment);
+            while (segments.size() > maxSegments) {
+                Segment oldest = segments.pollFirst();
+                Files.deleteIfExists(oldest.path);
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * 重启前写入的分段也计入保留数，按创建顺序排在最前，超出maxSegments时最先删除
+     */
+    private void loadSegments() throws IOException {
+        List<Path> existing = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(path -> segmentOrder(path.getFileName().toString()) != null).forEach(existing::add);
+        }
+        existing.sort(Comparator.comparing((Path path) -> segmentOrder(path.getFileName().toString())[0])
+                .thenComparing(path -> segmentOrder(path.getFileName().toString())[1]));
+        for (Path path : existing) {
+            segments.addLast(new Segment(path, null));
+        }
+    }
+
+    /**
+     * 解析分段文件名中的创建时间与序号，序号位数不定，不能按文件名字典序排序
+     *
+     * @return {创建时间, 序号}，不是分段文件时为null
+     */
+    private static long[] segmentOrder(String fileName) {
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(BinaryLogFormat.SEGMENT_SUFFIX)) {
+            return null;
+        }
+        String[] parts = fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - BinaryLogFormat.SEGMENT_SUFFIX.length()).split("-");
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 重启后沿用已有的方法id，保证历史分段仍可解码
+     */
+    private void loadMethodIndex() throws IOException {
+        Path index = directory.resolve(BinaryLogFormat.METHOD_INDEX_NAME);
+        if (!Files.exists(index)) {
+            return;
+        }
+        for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+            int separator = line.indexOf(BinaryLogFormat.METHOD_INDEX_SEPARATOR);
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                int id = Integer.parseInt(line.substring(0, separator).trim());
+                methodIds.put(line.substring(separator + 1), id);
+                methodIdGenerator.accumulateAndGet(id, Math::max);
+            } catch (NumberFormatException e) {
+                // 忽略损坏的行
+            }
+        }
+    }
+
+    private synchronized void writeMethodIndex(int id, String name) {
+        try (Writer writer = Files.newBufferedWriter(directory.resolve(BinaryLogFormat.METHOD_INDEX_NAME), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(id + BinaryLogFormat.METHOD_INDEX_SEPARATOR + name + "\n");
+        } catch (IOException e) {
+            log.error("{}[BinaryLogSink.writeMethodIndex] - exception={}", LogMarkConstant.LOG_ERROR_MARK, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 刷盘并停止写入
+     */
+    public synchronized void close() {
+        closed = true;
+        if (current != null) {
+            current.buffer.force();
+        }
+    }
+
+    public int getMaxPayloadBytes() {
+        return maxPayloadBytes;
+    }
+
+    public long getAppendedCount() {
+        return appended.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    private static class Segment {
+        private final Path path;
+        /**
+         * 重启前写入的分段不再映射，为null
+         */
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger position = new AtomicInteger(BinaryLogFormat.SEGMENT_HEADER_SIZE);
+
+        private Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,488 @@
+package org.linkgems.rical.common.eve.component.log;
+
+import java.beans.BeanInfo;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @description: 有界JSON渲染器。
+ *                  直接写入线程复用的缓冲区，对总长度、集合元素数、字符串长度、嵌套深度设上限，
+ *                  超出部分截断，保证打印日志的开销与参数大小无关
+ * @author: meidanlong
+ * @date: 2026/10/17 4:14 AM
+ */
+public class BoundedJsonRenderer {
+
+    private static final String TRUNCATED = "...(truncated)";
+    private static final String[] OPAQUE_TYPE_PREFIXES = {
+            "javax.servlet.",
+            "org.springframework.web.multipart.",
+            "org.springframework.validation.",
+            "org.springframework.ui."
+    };
+
+    /**
+     * Bean可读属性，按类缓存
+     */
+    private static final ClassValue<Property[]> PROPERTIES = new ClassValue<Property[]>() {
+        @Override
+        protected Property[] computeValue(Class<?> type) {
+            return resolveProperties(type);
+        }
+    };
+
+    /**
+     * 不展开的类型（请求、响应、文件等），只输出类名
+     */
+    private static final ClassValue<Boolean> OPAQUE_TYPES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isOpaque(type);
+        }
+    };
+
+    private final int maxLength;
+    private final int maxElements;
+    private final int maxStringLength;
+    private final int maxDepth;
+    private final ThreadLocal<Context> contextHolder;
+
+    /**
+     * @param maxLength       输出总长度上限（字符）
+     * @param maxElements     集合/数组/Map输出的元素上限
+     * @param maxStringLength 单个字符串长度上限
+     * @param maxDepth        嵌套深度上限
+     */
+    public BoundedJsonRenderer(int maxLength, int maxElements, int maxStringLength, int maxDepth) {
+        this.maxLength = Math.max(maxLength, 64);
+        this.maxElements = Math.max(maxElements, 1);
+        this.maxStringLength = Math.max(maxStringLength, 16);
+        this.maxDepth = Math.max(maxDepth, 1);
+        this.contextHolder = ThreadLocal.withInitial(() -> new Context(this.maxLength, this.maxDepth));
+    }
+
+    /**
+     * 渲染对象
+     *
+     * @param obj    目标对象
+     * @param root   根路径名，用于字段投影
+     * @param filter 字段投影
+     * @return
+     */
+    public String render(Object obj, String root, LogPathFilter filter) {
+        Context ctx = acquire(filter);
+        try {
+            ctx.push(root);
+            writeValue(ctx, obj, 0);
+            return ctx.finish();
+        } finally {
+            release(ctx);
+        }
+    }
+
+    /**
+     * 以{参数名:参数值}的形式渲染入参，避免组装中间Map
+     *
+     * @param names  参数名
+     * @param args   参数值
+     * @param filter 字段投影
+     * @return
+     */
+    public String renderArgs(String[] names, Object[] args, LogPathFilter filter) {
+        Context ctx = acquire(filter);
+        try {
+            ctx.sb.append('{');
+            int length = args == null ? 0 : Math.min(names.length, args.length);
+            boolean first = true;
+            for (int i = 0; i < length && !ctx.isFull(); i++) {
+                ctx.push(names[i]);
+                if (ctx.accept()) {
+                    first = writeKey(ctx, names[i], first);
+                    writeValue(ctx, args[i], 1);
+                }
+                ctx.pop();
+            }
+            ctx.sb.append('}');
+            return ctx.finish();
+        } finally {
+            release(ctx);
+        }
+    }
+
+    private Context acquire(LogPathFilter filter) {
+        Context ctx = contextHolder.get();
+        if (ctx.inUse) {
+            // getter中再次触发渲染时不复用缓冲区
+            ctx = new Context(maxLength, maxDepth);
+        }
+        ctx.inUse = true;
+        ctx.filter = filter == null || filter.isEmpty() ? null : filter;
+        return ctx;
+    }
+
+    private void release(Context ctx) {
+        ctx.reset();
+    }
+
+    private void writeValue(Context ctx, Object obj, int depth) {
+        if (ctx.isFull()) {
+            return;
+        }
+        // Optional按其值输出，进入composite前展开，不占用访问栈，任意层嵌套也不会越界
+        while (obj instanceof Optional) {
+            obj = ((Optional<?>) obj).orElse(null);
+        }
+        StringBuilder sb = ctx.sb;
+        if (obj == null) {
+            sb.append("null");
+        } else if (obj instanceof CharSequence) {
+            writeString(ctx, (CharSequence) obj);
+        } else if (obj instanceof Number) {
+            writeNumber(ctx, (Number) obj);
+        } else if (obj instanceof Boolean) {
+            sb.append(obj);
+        } else if (obj instanceof Character || obj instanceof Enum) {
+            writeString(ctx, obj instanceof Enum ? ((Enum<?>) obj).name() : obj.toString());
+        } else if (obj instanceof Date) {
+            sb.append(((Date) obj).getTime());
+        } else if (obj instanceof Calendar) {
+            sb.append(((Calendar) obj).getTimeInMillis());
+        } else if (obj instanceof byte[]) {
+            sb.append("\"<byte[").append(((byte[]) obj).length).append("]>\"");
+        } else if (obj instanceof char[]) {
+            writeString(ctx, new String((char[]) obj));
+        } else if (obj instanceof Throwable) {
+            writeString(ctx, obj.getClass().getName() + ": " + ((Throwable) obj).getMessage());
+        } else if (obj instanceof Class) {
+            writeString(ctx, ((Class<?>) obj).getName());
+        } else if (OPAQUE_TYPES.get(obj.getClass())) {
+            sb.append("\"<").append(obj.getClass().getSimpleName()).append(">\"");
+        } else if (depth >= maxDepth) {
+            sb.append("\"<depth-limit>\"");
+        } else if (ctx.isVisiting(obj)) {
+            sb.append("\"<cycle>\"");
+        } else {
+            ctx.enter(obj);
+            try {
+                writeComposite(ctx, obj, depth);
+            } finally {
+                ctx.exit();
+            }
+        }
+        ctx.checkLength();
+    }
+
+    private void writeComposite(Context ctx, Object obj, int depth) {
+        if (obj instanceof Map) {
+            writeMap(ctx, (Map<?, ?>) obj, depth);
+        } else if (obj instanceof Collection) {
+            writeIterator(ctx, ((Collection<?>) obj).iterator(), ((Collection<?>) obj).size(), depth);
+        } else if (obj instanceof Iterable) {
+            writeIterator(ctx, ((Iterable<?>) obj).iterator(), -1, depth);
+        } else if (obj.getClass().isArray()) {
+            writeArray(ctx, obj, depth);
+        } else if (isJdkType(obj.getClass())) {
+            writeString(ctx, obj.toString());
+        } else {
+            writeBean(ctx, obj, depth);
+        }
+    }
+
+    private void writeMap(Context ctx, Map<?, ?> map, int depth) {
+        StringBuilder sb = ctx.sb;
+        sb.append('{');
+        boolean first = true;
+        int count = 0;
+        // 已遍历的条目数，含被路径过滤掉的条目
+        int visited = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (ctx.isFull()) {
+                break;
+            }
+            if (count >= maxElements) {
+                writeKey(ctx, "...", first);
+                sb.append("\"<").append(map.size() - visited).append(" more>\"");
+                break;
+            }
+            visited++;
+            String key = String.valueOf(entry.getKey());
+            ctx.push(key);
+            if (ctx.accept()) {
+                first = writeKey(ctx, key, first);
+                writeValue(ctx, entry.getValue(), depth + 1);
+                count++;
+            }
+            ctx.pop();
+        }
+        sb.append('}');
+    }
+
+    private void writeIterator(Context ctx, Iterator<?> iterator, int size, int depth) {
+        StringBuilder sb = ctx.sb;
+        sb.append('[');
+        int count = 0;
+        while (iterator.hasNext() && !ctx.isFull()) {
+            if (count > 0) {
+                sb.append(',');
+            }
+            if (count >= maxElements) {
+                sb.append(size < 0 ? "\"<more>\"" : "\"<" + (size - count) + " more>\"");
+                break;
+            }
+            writeValue(ctx, iterator.next(), depth + 1);
+            count++;
+        }
+        sb.append(']');
+    }
+
+    private void writeArray(Context ctx, Object array, int depth) {
+        StringBuilder sb = ctx.sb;
+        int length = Array.getLength(array);
+        sb.append('[');
+        for (int i = 0; i < length && !ctx.isFull(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            if (i >= maxElements) {
+                sb.append("\"<").append(length - i).append(" more>\"");
+                break;
+            }
+            writeValue(ctx, Array.get(array, i), depth + 1);
+        }
+        sb.append(']');
+    }
+
+    private void writeBean(Context ctx, Object bean, int depth) {
+        StringBuilder sb = ctx.sb;
+        sb.append('{');
+        boolean first = true;
+        for (Property property : PROPERTIES.get(bean.getClass())) {
+            if (ctx.isFull()) {
+                break;
+            }
+            ctx.push(property.name);
+            if (ctx.accept()) {
+                Object value;
+                try {
+                    value = property.getter.invoke(bean);
+                } catch (Exception e) {
+                    value = "<error>";
+                }
+                first = writeKey(ctx, property.name, first);
+                writeValue(ctx, value, depth + 1);
+            }
+            ctx.pop();
+        }
+        sb.append('}');
+    }
+
+    private boolean writeKey(Context ctx, String key, boolean first) {
+        if (!first) {
+            ctx.sb.append(',');
+        }
+        writeString(ctx, key);
+        ctx.sb.append(':');
+        return false;
+    }
+
+    private void writeNumber(Context ctx, Number number) {
+        if ((number instanceof Double && !Double.isFinite(number.doubleValue()))
+                || (number instanceof Float && !Float.isFinite(number.floatValue()))) {
+            writeString(ctx, number.toString());
+        } else {
+            ctx.sb.append(number);
+        }
+    }
+
+    private void writeString(Context ctx, CharSequence value) {
+        StringBuilder sb = ctx.sb;
+        int length = value.length();
+        int end = Math.min(length, maxStringLength);
+        sb.append('"');
+        for (int i = 0; i < end; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        if (end < length) {
+            sb.append("...(").append(length).append(" chars)");
+        }
+        sb.append('"');
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || name.startsWith("jdk.");
+    }
+
+    private static boolean isOpaque(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            if (hasOpaquePrefix(current.getName())) {
+                return true;
+            }
+            for (Class<?> itf : current.getInterfaces()) {
+                if (hasOpaquePrefix(itf.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasOpaquePrefix(String name) {
+        for (String prefix : OPAQUE_TYPE_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Property[] resolveProperties(Class<?> type) {
+        List<Property> properties = new ArrayList<>();
+        try {
+            BeanInfo beanInfo = Introspector.getBeanInfo(type, Object.class);
+            for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+                Method getter = descriptor.getReadMethod();
+                if (getter == null || getter.getParameterCount() > 0) {
+                    continue;
+                }
+                try {
+                    getter.setAccessible(true);
+                } catch (RuntimeException e) {
+                    // 无法访问时调用会失败，输出<error>
+                }
+                properties.add(new Property(descriptor.getName(), getter));
+            }
+        } catch (Exception e) {
+            // 无法内省的类型按空对象输出
+        }
+        return properties.toArray(new Property[0]);
+    }
+
+    private static class Property {
+        private final String name;
+        private final Method getter;
+
+        private Property(String name, Method getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+    }
+
+    /**
+     * 单次渲染的上下文，按线程复用
+     */
+    private static class Context {
+        private final int limit;
+        private StringBuilder sb;
+        private final Object[] visiting;
+        private int visitingSize;
+        private final String[] path;
+        private int pathLength;
+        private boolean full;
+        private boolean inUse;
+        private LogPathFilter filter;
+
+        private Context(int maxLength, int maxDepth) {
+            this.limit = maxLength;
+            this.sb = new StringBuilder(Math.min(maxLength, 1024));
+            this.visiting = new Object[maxDepth + 1];
+            // 根路径 + 每层对象一段key
+            this.path = new String[maxDepth + 3];
+        }
+
+        private boolean isFull() {
+            return full;
+        }
+
+        private void checkLength() {
+            if (!full && sb.length() > limit) {
+                full = true;
+            }
+        }
+
+        private String finish() {
+            if (full || sb.length() > limit) {
+                sb.setLength(Math.min(sb.length(), limit));
+                sb.append(TRUNCATED);
+            }
+            return sb.toString();
+        }
+
+        private void reset() {
+            if (sb.capacity() > limit * 4) {
+                sb = new StringBuilder(Math.min(limit, 1024));
+            }
+            sb.setLength(0);
+            visitingSize = 0;
+            pathLength = 0;
+            full = false;
+            filter = null;
+            inUse = false;
+        }
+
+        private boolean isVisiting(Object obj) {
+            for (int i = 0; i < visitingSize; i++) {
+                if (visiting[i] == obj) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void enter(Object obj) {
+            visiting[visitingSize++] = obj;
+        }
+
+        private void exit() {
+            visiting[--visitingSize] = null;
+        }
+
+        private void push(String segment) {
+            if (filter != null && pathLength < path.length) {
+                path[pathLength] = segment;
+            }
+            pathLength++;
+        }
+
+        private void pop() {
+            pathLength--;
+        }
+
+        private boolean accept() {
+            return filter == null || pathLength > path.length || filter.accept(path, pathLength);
+        }
+    }
+}
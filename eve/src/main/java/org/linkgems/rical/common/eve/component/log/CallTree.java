@@ -0,0 +1,117 @@
+package org.linkgems.rical.common.eve.component.log;
+
+import org.linkgems.rical.common.eve.domain.dto.LogDetail;
+
+import java.util.Arrays;
+
+/**
+ * @description: 请求内嵌套@Log调用的调用树，仅由当前线程读写。
+ *                  节点按进入顺序存放在数组中，记录父节点下标，最外层调用结束时整体输出一条紧凑记录
+ * @author: meidanlong
+ * @date: 2026/10/17 4:16 AM
+ */
+public class CallTree {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int MAX_NODES = 256;
+
+    private LogDetail[] details = new LogDetail[INITIAL_CAPACITY];
+    private long[] costNanos = new long[INITIAL_CAPACITY];
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private boolean[] failed = new boolean[INITIAL_CAPACITY];
+    private int size;
+    private int current = -1;
+    private int overflow;
+
+    /**
+     * 进入节点
+     *
+     * @param logDetail
+     * @return 节点下标，超出上限时返回-1
+     */
+    public int enter(LogDetail logDetail) {
+        if (size >= MAX_NODES) {
+            overflow++;
+            return -1;
+        }
+        if (size == details.length) {
+            int capacity = Math.min(size << 1, MAX_NODES);
+            details = Arrays.copyOf(details, capacity);
+            costNanos = Arrays.copyOf(costNanos, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            failed = Arrays.copyOf(failed, capacity);
+        }
+        int index = size++;
+        details[index] = logDetail;
+        parents[index] = current;
+        current = index;
+        return index;
+    }
+
+    /**
+     * 退出节点
+     *
+     * @param index     enter返回的下标
+     * @param costNanos 耗时，单位ns
+     * @param success   是否成功
+     */
+    public void exit(int index, long costNanos, boolean success) {
+        if (index < 0) {
+            return;
+        }
+        this.costNanos[index] = costNanos;
+        this.failed[index] = !success;
+        this.current = parents[index];
+    }
+
+    /**
+     * 输出紧凑格式，如 Ctl.get=12.3ms{Svc.a=5.0ms,Svc.b=3.1ms!{Dao.q=2.0ms}}，"!"表示失败
+     *
+     * @return
+     */
+    public String render() {
+        StringBuilder sb = new StringBuilder(size * 24);
+        int[] stack = new int[size];
+        boolean[] opened = new boolean[size];
+        int depth = 0;
+        for (int i = 0; i < size; i++) {
+            while (depth > 0 && stack[depth - 1] != parents[i]) {
+                if (opened[--depth]) {
+                    sb.append('}');
+                }
+            }
+            if (depth > 0) {
+                if (opened[depth - 1]) {
+                    sb.append(',');
+                } else {
+                    sb.append('{');
+                    opened[depth - 1] = true;
+                }
+            } else if (i > 0) {
+                sb.append(',');
+            }
+            appendNode(sb, i);
+            stack[depth] = i;
+            opened[depth] = false;
+            depth++;
+        }
+        while (depth > 0) {
+            if (opened[--depth]) {
+                sb.append('}');
+            }
+        }
+        if (overflow > 0) {
+            sb.append("(+").append(overflow).append(" omitted)");
+        }
+        return sb.toString();
+    }
+
+    private void appendNode(StringBuilder sb, int index) {
+        long tenths = costNanos[index] / 100_000L;
+        sb.append(details[index].getClazz()).append('.').append(details[index].getMethod())
+                .append('=').append(tenths / 10).append('.').append(tenths % 10).append("ms");
+        if (failed[index]) {
+            sb.append('!');
+        }
+    }
+}
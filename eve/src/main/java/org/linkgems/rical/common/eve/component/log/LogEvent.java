@@ -0,0 +1,95 @@
+package org.linkgems.rical.common.eve.component.log;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.component.trace.TraceContext;
+import org.linkgems.rical.common.eve.domain.dto.LogDetail;
+
+/**
+ * @description: 一次@Log调用的日志事件，仅持有引用，序列化推迟到渲染时；异步模式下默认在入队前固化为字符串，见{@link #detach}
+ * @author: meidanlong
+ * @date: 2026/10/17 4:12 AM
+ */
+@Getter
+public class LogEvent {
+
+    private final LogDetail logDetail;
+    /**
+     * 耗时，单位ms
+     */
+    private final long cost;
+    private final Object[] args;
+    /**
+     * 执行前固化的入参，未开启snapshotArgs时为null
+     */
+    private final String argsSnapshot;
+    private final Object result;
+    /**
+     * 入队前固化的出参，未固化时为null
+     */
+    private final String resultSnapshot;
+    private final Throwable throwable;
+    /**
+     * 调用树模式下最外层调用携带的整棵调用树，其余情况为null
+     */
+    private final CallTree callTree;
+    /**
+     * 慢调用折叠栈汇总，未被采样时为null
+     */
+    private final String profile;
+    /**
+     * 创建时所在请求的traceId，异步渲染时仍可输出
+     */
+    private final String traceId;
+
+    private LogEvent(LogDetail logDetail, long cost, Object[] args, String argsSnapshot, Object result, Throwable throwable,
+                     CallTree callTree, String profile) {
+        this.logDetail = logDetail;
+        this.cost = cost;
+        this.args = args;
+        this.argsSnapshot = argsSnapshot;
+        this.result = result;
+        this.resultSnapshot = null;
+        this.throwable = throwable;
+        this.callTree = callTree;
+        this.profile = profile;
+        this.traceId = TraceContext.currentTraceId();
+    }
+
+    private LogEvent(LogEvent event, String argsSnapshot, String resultSnapshot) {
+        this.logDetail = event.logDetail;
+        this.cost = event.cost;
+        this.args = null;
+        this.argsSnapshot = argsSnapshot;
+        this.result = null;
+        this.resultSnapshot = resultSnapshot;
+        this.throwable = event.throwable;
+        this.callTree = event.callTree;
+        this.profile = event.profile;
+        this.traceId = event.traceId;
+    }
+
+    public static LogEvent success(LogDetail logDetail, long cost, Object[] args, String argsSnapshot, Object result,
+                                   CallTree callTree, String profile) {
+        return new LogEvent(logDetail, cost, args, argsSnapshot, result, null, callTree, profile);
+    }
+
+    public static LogEvent failure(LogDetail logDetail, long cost, Object[] args, String argsSnapshot, Throwable throwable,
+                                   CallTree callTree, String profile) {
+        return new LogEvent(logDetail, cost, args, argsSnapshot, null, throwable, callTree, profile);
+    }
+
+    /**
+     * 以序列化后的入参/出参替换引用，入队后业务代码再修改这些对象也不影响日志内容
+     *
+     * @param argsSnapshot
+     * @param resultSnapshot 失败事件为null
+     * @return 不再持有入参/出参引用的事件
+     */
+    public LogEvent detach(String argsSnapshot, String resultSnapshot) {
+        return new LogEvent(this, argsSnapshot, resultSnapshot);
+    }
+
+    public boolean isSuccess() {
+        return throwable == null;
+    }
+}
@@ -0,0 +1,86 @@
+package org.linkgems.rical.common.eve.component.log;
+
+/**
+ * @description: 日志字段投影。路径以参数名（出参为result）开头，以"."分隔，"*"匹配任意一段，
+ *                  如"user.password"、"*.password"、"result.list.id"。
+ *                  命中excludes的字段不输出；某个根下声明了includes时，该根下只输出includes路径上的字段
+ * @author: meidanlong
+ * @date: 2026/10/17 4:14 AM
+ */
+public class LogPathFilter {
+
+    public static final LogPathFilter EMPTY = new LogPathFilter(new String[0][], new String[0][]);
+
+    private static final String WILDCARD = "*";
+
+    private final String[][] includes;
+    private final String[][] excludes;
+
+    private LogPathFilter(String[][] includes, String[][] excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    public static LogPathFilter of(String[] includes, String[] excludes) {
+        if ((includes == null || includes.length == 0) && (excludes == null || excludes.length == 0)) {
+            return EMPTY;
+        }
+        return new LogPathFilter(compile(includes), compile(excludes));
+    }
+
+    public boolean isEmpty() {
+        return includes.length == 0 && excludes.length == 0;
+    }
+
+    /**
+     * 判断路径是否输出
+     *
+     * @param path   路径分段
+     * @param length 有效段数
+     * @return
+     */
+    public boolean accept(String[] path, int length) {
+        for (String[] exclude : excludes) {
+            if (exclude.length <= length && matches(exclude, path, exclude.length)) {
+                return false;
+            }
+        }
+        boolean rootIncluded = false;
+        for (String[] include : includes) {
+            if (!matches(include, path, 1)) {
+                continue;
+            }
+            rootIncluded = true;
+            // 路径是include的祖先（需要继续向下）或位于include之下
+            if (matches(include, path, Math.min(include.length, length))) {
+                return true;
+            }
+        }
+        return !rootIncluded;
+    }
+
+    private static boolean matches(String[] pattern, String[] path, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!WILDCARD.equals(pattern[i]) && !pattern[i].equals(path[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[][] compile(String[] paths) {
+        if (paths == null) {
+            return new String[0][];
+        }
+        String[][] compiled = new String[paths.length][];
+        int count = 0;
+        for (String path : paths) {
+            if (path != null && !path.trim().isEmpty()) {
+                compiled[count++] = path.trim().split("\\.");
+            }
+        }
+        String[][] result = new String[count][];
+        System.arraycopy(compiled, 0, result, 0, count);
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+package org.linkgems.rical.common.eve.component.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @description: 有界无锁环形队列，多生产者单消费者。
+ *                  生产者CAS抢占序号后写入槽位，消费者按序号读取并清空槽位
+ * @author: meidanlong
+ * @date: 2026/10/17 4:12 AM
+ */
+public class LogRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<LogEvent> slots;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * @param capacity 容量，向上取整为2的幂
+     */
+    public LogRingBuffer(int capacity) {
+        int size = 1;
+        while (size < Math.max(capacity, 2)) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * 入队，队列已满时立即返回false
+     *
+     * @param event
+     * @return
+     */
+    public boolean offer(LogEvent event) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() >= capacity) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        slots.lazySet((int) index & mask, event);
+        return true;
+    }
+
+    /**
+     * 出队，仅允许单个消费线程调用。队列为空时返回null
+     *
+     * @return
+     */
+    public LogEvent poll() {
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        LogEvent event = slots.get(offset);
+        if (event == null) {
+            if (index == producerIndex.get()) {
+                return null;
+            }
+            // 生产者已抢占序号但尚未写入，自旋等待
+            do {
+                event = slots.get(offset);
+            } while (event == null);
+        }
+        slots.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return event;
+    }
+
+    public int size() {
+        long size = producerIndex.get() - consumerIndex.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
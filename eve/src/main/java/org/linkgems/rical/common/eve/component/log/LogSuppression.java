@@ -0,0 +1,32 @@
+package org.linkgems.rical.common.eve.component.log;
+
+/**
+ * @description: 由内层切片标记当前@Log调用不输出成功日志，如命中缓存。
+ * 标记只应在被@Log标注的方法上设置，LogAspect在proceed返回后立即消费
+ * @author: meidanlong
+ * @date: 2026/10/17 4:38 AM
+ */
+public final class LogSuppression {
+
+    private static final ThreadLocal<Boolean> SUPPRESSED = new ThreadLocal<>();
+
+    private LogSuppression() {
+    }
+
+    public static void suppress() {
+        SUPPRESSED.set(Boolean.TRUE);
+    }
+
+    /**
+     * 读取并清除标记
+     *
+     * @return
+     */
+    public static boolean consume() {
+        if (SUPPRESSED.get() == null) {
+            return false;
+        }
+        SUPPRESSED.remove();
+        return true;
+    }
+}
@@ -0,0 +1,207 @@
+package org.linkgems.rical.common.eve.component.log;
+
+import lombok.extern.slf4j.Slf4j;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @description: 慢调用栈采样器。
+ *                  业务线程进入@Log方法时只在线程槽位上写入开始时间；后台采样线程周期扫描槽位，
+ *                  对运行超过阈值的调用抓取线程栈，调用结束时汇总为折叠栈（collapsed stack）附加到日志中
+ * @author: meidanlong
+ * @date: 2026/10/17 4:20 AM
+ */
+@Slf4j
+public class SlowCallSampler {
+
+    private static final int SUMMARY_TOP_STACKS = 3;
+
+    private final long thresholdNanos;
+    private final long intervalNanos;
+    private final int maxConcurrent;
+    private final int maxFrames;
+
+    private final Set<Slot> slots = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Slot> slotHolder = ThreadLocal.withInitial(this::newSlot);
+    private final AtomicInteger sampling = new AtomicInteger();
+    private final Thread samplerThread;
+    private volatile boolean running;
+
+    /**
+     * @param thresholdMillis 开始采样的运行时长
+     * @param intervalMillis  采样间隔
+     * @param maxConcurrent   同时采样的调用数上限
+     * @param maxFrames       每次采样保留的栈顶帧数
+     */
+    public SlowCallSampler(long thresholdMillis, long intervalMillis, int maxConcurrent, int maxFrames) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(thresholdMillis, 1L));
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(intervalMillis, 1L));
+        this.maxConcurrent = Math.max(maxConcurrent, 1);
+        this.maxFrames = Math.max(maxFrames, 1);
+        this.samplerThread = new Thread(this::sampleLoop, "rical-slow-call-sampler");
+        this.samplerThread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        samplerThread.start();
+    }
+
+    public void stop() {
+        running = false;
+        LockSupport.unpark(samplerThread);
+    }
+
+    /**
+     * 调用开始，嵌套调用只登记最外层
+     *
+     * @return
+     */
+    public Slot begin() {
+        Slot slot = slotHolder.get();
+        if (slot.depth++ == 0) {
+            slot.callId++;
+            slot.startNanos = System.nanoTime();
+        }
+        return slot;
+    }
+
+    /**
+     * 调用结束
+     *
+     * @param slot begin返回的槽位
+     * @return 折叠栈汇总，未被采样或非最外层调用时为null
+     */
+    public String end(Slot slot) {
+        if (--slot.depth > 0) {
+            return null;
+        }
+        // 与采样线程互斥：结束后采样线程不会再写入，已写入的样本在此取走
+        synchronized (slot) {
+            slot.startNanos = 0L;
+            if (!slot.sampled) {
+                return null;
+            }
+            String summary = slot.summary();
+            slot.sampled = false;
+            slot.samples.clear();
+            slot.sampleCount = 0;
+            sampling.decrementAndGet();
+            return summary;
+        }
+    }
+
+    private Slot newSlot() {
+        Slot slot = new Slot(Thread.currentThread());
+        slots.add(slot);
+        return slot;
+    }
+
+    private void sampleLoop() {
+        while (running) {
+            LockSupport.parkNanos(intervalNanos);
+            long now = System.nanoTime();
+            for (Slot slot : slots) {
+                if (!slot.thread.isAlive()) {
+                    slots.remove(slot);
+                    continue;
+                }
+                long start = slot.startNanos;
+                if (start != 0L && now - start >= thresholdNanos) {
+                    try {
+                        sample(slot);
+                    } catch (Throwable th) {
+                        log.error("{}[SlowCallSampler.sampleLoop] - exception={}", LogMarkConstant.LOG_ERROR_MARK, th.getMessage(), th);
+                    }
+                }
+            }
+        }
+    }
+
+    private void sample(Slot slot) {
+        long callId = slot.callId;
+        if (!slot.sampled && sampling.get() >= maxConcurrent) {
+            return;
+        }
+        StackTraceElement[] stackTrace = slot.thread.getStackTrace();
+        String collapsed = collapse(stackTrace);
+        synchronized (slot) {
+            // 抓栈期间调用可能已结束或已开始下一次调用
+            if (slot.startNanos == 0L || slot.callId != callId) {
+                return;
+            }
+            if (!slot.sampled) {
+                if (sampling.incrementAndGet() > maxConcurrent) {
+                    sampling.decrementAndGet();
+                    return;
+                }
+                slot.sampled = true;
+            }
+            slot.samples.merge(collapsed, 1, Integer::sum);
+            slot.sampleCount++;
+        }
+    }
+
+    /**
+     * 折叠栈，栈底在前，帧之间以";"分隔
+     */
+    private String collapse(StackTraceElement[] stackTrace) {
+        int frames = Math.min(stackTrace.length, maxFrames);
+        StringBuilder sb = new StringBuilder(frames * 32);
+        for (int i = frames - 1; i >= 0; i--) {
+            StackTraceElement element = stackTrace[i];
+            String className = element.getClassName();
+            sb.append(className.substring(className.lastIndexOf('.') + 1)).append('.').append(element.getMethodName());
+            if (i > 0) {
+                sb.append(';');
+            }
+        }
+        return sb.toString();
+    }
+
+    public int getSamplingCount() {
+        return sampling.get();
+    }
+
+    /**
+     * 线程槽位，每个线程一个，仅由所属线程与采样线程访问
+     */
+    public static class Slot {
+        private final Thread thread;
+        private int depth;
+        private volatile long callId;
+        private volatile long startNanos;
+        private volatile boolean sampled;
+        private final Map<String, Integer> samples = new HashMap<>();
+        private int sampleCount;
+
+        private Slot(Thread thread) {
+            this.thread = thread;
+        }
+
+        private String summary() {
+            List<Map.Entry<String, Integer>> entries = new ArrayList<>(samples.entrySet());
+            entries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+            StringBuilder sb = new StringBuilder("samples=").append(sampleCount).append(" [");
+            for (int i = 0; i < Math.min(entries.size(), SUMMARY_TOP_STACKS); i++) {
+                if (i > 0) {
+                    sb.append(" | ");
+                }
+                sb.append(entries.get(i).getValue()).append("x ").append(entries.get(i).getKey());
+            }
+            if (entries.size() > SUMMARY_TOP_STACKS) {
+                sb.append(" | +").append(entries.size() - SUMMARY_TOP_STACKS).append(" stacks");
+            }
+            return sb.append(']').toString();
+        }
+    }
+}
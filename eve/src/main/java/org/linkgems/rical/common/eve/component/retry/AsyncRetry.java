@@ -0,0 +1,156 @@
+package org.linkgems.rical.common.eve.component.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.eve.component.context.CallContext;
+import org.linkgems.rical.common.eve.component.deadline.DeadlineContext;
+import org.linkgems.rical.common.eve.domain.constant.LogMarkConstant;
+import org.linkgems.rical.common.eve.domain.dto.RetryDetail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @description: 单次异步调用的重试过程。future失败后在共享调度器上延时重新调用，等待期间不占用任何线程，
+ * 最终结果写入返回给调用方的promise
+ * @author: meidanlong
+ * @date: 2026/10/17 4:26 AM
+ */
+@Slf4j
+public class AsyncRetry implements Runnable {
+
+    private final ProceedingJoinPoint joinPoint;
+    private final RetryDetail retryDetail;
+    private final ScheduledExecutorService scheduler;
+    private final CompletableFuture<Object> promise = new CompletableFuture<>();
+    /**
+     * 发起调用时的截止时间，重试在调度线程上执行，不能再从线程上下文读取
+     */
+    private final Long deadline = DeadlineContext.current();
+    /**
+     * 调用方的上下文，重试在调度线程上执行时恢复，使重试发出的Dubbo请求仍带有traceId、截止时间与appKey
+     */
+    private final CallContext callContext = CallContext.capture();
+    /**
+     * 仅由上一次尝试的回调线程修改，尝试之间通过调度器建立happens-before
+     */
+    private int retryTimes;
+    private long delay;
+    private long attemptStart;
+
+    public AsyncRetry(ProceedingJoinPoint joinPoint, RetryDetail retryDetail, ScheduledExecutorService scheduler) {
+        this.joinPoint = joinPoint;
+        this.retryDetail = retryDetail;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * 在调用线程上发起首次尝试
+     *
+     * @return 最终结果
+     */
+    public CompletableFuture<Object> start() {
+        run();
+        return promise;
+    }
+
+    @Override
+    public void run() {
+        // 调用方已取消或已超时完成，不再重试
+        if (promise.isDone()) {
+            return;
+        }
+        retryDetail.getStat().attempt();
+        attemptStart = System.currentTimeMillis();
+        CompletionStage<?> stage;
+        // 首次尝试在调用线程上，无需恢复
+        try (CallContext.Scope ignored = retryTimes > 0 ? callContext.attach() : null) {
+            stage = (CompletionStage<?>) joinPoint.proceed();
+        } catch (Throwable th) {
+            onFailure(th);
+            return;
+        }
+        if (stage == null) {
+            onSuccess(null);
+            return;
+        }
+        stage.whenComplete((result, th) -> {
+            if (th == null) {
+                onSuccess(result);
+            } else {
+                onFailure(unwrap(th));
+            }
+        });
+    }
+
+    private void onSuccess(Object result) {
+        RetryBudget retryBudget = retryDetail.getBudget();
+        if (retryBudget != null) {
+            retryBudget.deposit();
+        }
+        promise.complete(result);
+    }
+
+    private void onFailure(Throwable th) {
+        int totalRetryTimes = retryDetail.getTotalRetryTimes();
+        // 与同步重试一致，只重试Exception
+        if (totalRetryTimes == 0 || !(th instanceof Exception)) {
+            promise.completeExceptionally(th);
+            return;
+        }
+        String classMethodName = retryDetail.getClassMethodName();
+        RetryStat retryStat = retryDetail.getStat();
+        if (RetryDetail.isNonRetryable(th)) {
+            retryStat.finalFailure();
+            log.error("{}{} non-retryable exception, give up after retry {} times - code={}", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes, ((BaseException) th).getCode());
+            promise.completeExceptionally(th);
+            return;
+        }
+        if (retryTimes == totalRetryTimes) {
+            retryStat.finalFailure();
+            log.error("{}{} still got exception after retry {} times", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes);
+            promise.completeExceptionally(new BaseException("retry with exception: " + th.getMessage(), th.getCause()));
+            return;
+        }
+        long nextDelay = retryDetail.nextDelay(retryTimes + 1, delay);
+        if (!DeadlineContext.fits(deadline, nextDelay, System.currentTimeMillis() - attemptStart)) {
+            retryStat.deadlineRejection();
+            retryStat.finalFailure();
+            log.error("{}{} not enough time before deadline, give up after retry {} times", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes);
+            promise.completeExceptionally(new BaseException("retry with exception: " + th.getMessage(), th.getCause()));
+            return;
+        }
+        RetryBudget retryBudget = retryDetail.getBudget();
+        if (retryBudget != null && !retryBudget.tryAcquire()) {
+            retryStat.budgetRejection();
+            retryStat.finalFailure();
+            log.error("{}{} retry budget exhausted, give up after retry {} times", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes);
+            promise.completeExceptionally(new BaseException("retry with exception: " + th.getMessage(), th.getCause()));
+            return;
+        }
+        retryTimes++;
+        retryStat.retry();
+        delay = nextDelay;
+        log.info("{}{} sth. wrong, attempt to retry {} times after {}ms", LogMarkConstant.LOG_ERROR_MARK, classMethodName, retryTimes, delay);
+        try {
+            scheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // 应用关闭中
+            retryStat.finalFailure();
+            promise.completeExceptionally(th);
+        }
+    }
+
+    private static Throwable unwrap(Throwable th) {
+        while ((th instanceof CompletionException || th instanceof ExecutionException) && th.getCause() != null) {
+            th = th.getCause();
+        }
+        return th;
+    }
+}
@@ -0,0 +1,62 @@
+package org.linkgems.rical.common.eve.component.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @description: 重试预算，无锁令牌桶。成功调用存入ratio个令牌，每次重试取出1个，令牌不足时不再重试
+ * @author: meidanlong
+ * @date: 2026/10/17 4:22 AM
+ */
+public class RetryBudget {
+
+    /**
+     * 令牌以千分之一为单位存储，避免浮点CAS
+     */
+    private static final long SCALE = 1000L;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong tokens;
+
+    /**
+     * @param ratio    每次成功存入的令牌数
+     * @param capacity 桶容量，也是初始令牌数
+     */
+    public RetryBudget(double ratio, int capacity) {
+        this.deposit = Math.max((long) (ratio * SCALE), 1L);
+        this.capacity = Math.max(capacity, 1) * SCALE;
+        this.tokens = new AtomicLong(this.capacity);
+    }
+
+    public void deposit() {
+        long current;
+        long next;
+        do {
+            current = tokens.get();
+            next = Math.min(capacity, current + deposit);
+            if (next == current) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, next));
+    }
+
+    /**
+     * 尝试取出一次重试的令牌
+     *
+     * @return
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    public double getTokens() {
+        return tokens.get() / (double) SCALE;
+    }
+}
@@ -0,0 +1,73 @@
+package org.linkgems.rical.common.eve.component.retry;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.domain.dto.RetryStatDTO;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @description: 单个方法的重试统计
+ * @author: meidanlong
+ * @date: 2026/10/17 4:22 AM
+ */
+public class RetryStat {
+
+    @Getter
+    private final String name;
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder budgetRejections = new LongAdder();
+    private final LongAdder deadlineRejections = new LongAdder();
+    private final LongAdder finalFailures = new LongAdder();
+    private volatile RetryBudget budget;
+
+    public RetryStat(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 绑定方法的重试预算，已绑定时保留先绑定的预算
+     *
+     * @param budget
+     * @return 实际生效的预算
+     */
+    public synchronized RetryBudget bind(RetryBudget budget) {
+        if (this.budget == null) {
+            this.budget = budget;
+        }
+        return this.budget;
+    }
+
+    public void attempt() {
+        attempts.increment();
+    }
+
+    public void retry() {
+        retries.increment();
+    }
+
+    public void budgetRejection() {
+        budgetRejections.increment();
+    }
+
+    public void deadlineRejection() {
+        deadlineRejections.increment();
+    }
+
+    public void finalFailure() {
+        finalFailures.increment();
+    }
+
+    public RetryStatDTO snapshot() {
+        RetryStatDTO dto = new RetryStatDTO();
+        dto.setMethod(name);
+        dto.setAttempts(attempts.sum());
+        dto.setRetries(retries.sum());
+        dto.setBudgetRejections(budgetRejections.sum());
+        dto.setDeadlineRejections(deadlineRejections.sum());
+        dto.setFinalFailures(finalFailures.sum());
+        RetryBudget current = budget;
+        dto.setBudgetTokens(current == null ? -1D : current.getTokens());
+        return dto;
+    }
+}
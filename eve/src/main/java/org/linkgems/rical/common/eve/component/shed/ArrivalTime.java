@@ -0,0 +1,101 @@
+package org.linkgems.rical.common.eve.component.shed;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.rpc.RpcContext;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * @description: 入口请求的发出/到达时间（epoch毫秒）。Dubbo调用取上游SendTimeFilter写入的attachment，
+ * HTTP请求取前置代理（nginx的 t=${msec}、Heroku等）写入的X-Request-Start请求头。
+ * 这两个时间都来自其他机器，含时钟偏差与网络耗时，使用方需按发出该时间的机器扣除基线延迟
+ * @author: meidanlong
+ * @date: 2026/10/17 5:03 AM
+ */
+public class ArrivalTime {
+
+    public final static String ATTACHMENT = "sendTime";
+    public final static String HEADER = "X-Request-Start";
+
+    private ArrivalTime() {
+    }
+
+    /**
+     * @param rpcContext
+     * @return 上游发出Dubbo调用的时间，没有时为-1
+     */
+    public static long dubboSendTime(RpcContext rpcContext) {
+        String attachment = rpcContext.getAttachment(ATTACHMENT);
+        if (!StringUtils.isNumeric(attachment) || attachment.length() > 18) {
+            return -1L;
+        }
+        return Long.parseLong(attachment);
+    }
+
+    /**
+     * @return 前置代理收到HTTP请求的时间，没有或格式不识别时为-1
+     */
+    public static long httpRequestStart() {
+        HttpServletRequest request = currentRequest();
+        return request == null ? -1L : parseRequestStart(request.getHeader(HEADER));
+    }
+
+    /**
+     * @return HTTP请求的直连对端（通常即写入X-Request-Start的前置代理）地址，没有时为null
+     */
+    public static String httpRemoteAddr() {
+        HttpServletRequest request = currentRequest();
+        return request == null ? null : request.getRemoteAddr();
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        return ((ServletRequestAttributes) attributes).getRequest();
+    }
+
+    /**
+     * 兼容 t=秒.毫秒、毫秒、微秒与纳秒几种写法
+     *
+     * @param header
+     * @return
+     */
+    static long parseRequestStart(String header) {
+        if (header == null) {
+            return -1L;
+        }
+        String value = header.startsWith("t=") ? header.substring(2) : header;
+        if (value.isEmpty() || value.length() > 20) {
+            return -1L;
+        }
+        int dot = value.indexOf('.');
+        if (dot >= 0) {
+            String seconds = value.substring(0, dot);
+            String fraction = value.substring(dot + 1);
+            if (!StringUtils.isNumeric(seconds) || !(fraction.isEmpty() || StringUtils.isNumeric(fraction))) {
+                return -1L;
+            }
+            String millis = (fraction + "000").substring(0, 3);
+            return Long.parseLong(seconds) * 1000L + Long.parseLong(millis);
+        }
+        if (!StringUtils.isNumeric(value) || value.length() > 19) {
+            return -1L;
+        }
+        long time = Long.parseLong(value);
+        if (time >= 100000000000000000L) {
+            return time / 1000000L;
+        }
+        if (time >= 100000000000000L) {
+            return time / 1000L;
+        }
+        if (time < 100000000000L) {
+            return time * 1000L;
+        }
+        return time;
+    }
+}
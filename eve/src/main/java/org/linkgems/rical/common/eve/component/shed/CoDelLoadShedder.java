@@ -0,0 +1,174 @@
+package org.linkgems.rical.common.eve.component.shed;
+
+import org.linkgems.rical.common.eve.domain.annotation.ShedPriority;
+import org.linkgems.rical.common.eve.domain.dto.LoadShedStatDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @description: 入口过载丢弃（CoDel）。以请求在进入业务方法前的排队时长（sojourn）判断过载：
+ * 每个interval统计最小排队时长，超过target说明形成了持续排队而非瞬时突发，下一个interval进入过载状态，
+ * 过载期间丢弃排队时长超过2倍target的NORMAL请求与超过target的SHEDDABLE请求，这些请求大概率已被上游判定超时，
+ * 尽早丢弃可把线程留给仍来得及返回的请求；CRITICAL从不丢弃。
+ * 到达时间取自上游SendTimeFilter或前置代理的X-Request-Start，其中含时钟偏差与网络耗时，
+ * 因此按来源（上游机器/前置代理的地址）扣除baseWindow内观察到的最小延迟作为基线；取不到到达时间的请求直接放行且不计入样本。
+ * 判断与统计均为无锁的原子变量
+ * @author: meidanlong
+ * @date: 2026/10/17 5:03 AM
+ */
+@Component
+public class CoDelLoadShedder {
+
+    /**
+     * 跟踪基线延迟的来源上限，超出后共用一个基线
+     */
+    private static final int MAX_SOURCES = 256;
+    private static final String OVERFLOW_SOURCE = "*";
+    private static final long NO_SAMPLE = Long.MAX_VALUE;
+
+    @Value("${rical.load-shed.enabled:false}")
+    private boolean enabled;
+
+    @Value("${rical.load-shed.target-ms:5}")
+    private long targetMs;
+
+    @Value("${rical.load-shed.interval-ms:100}")
+    private long intervalMs;
+
+    @Value("${rical.load-shed.base-window-ms:300000}")
+    private long baseWindowMs;
+
+    private final Map<String, BaseDelay> baseDelays = new ConcurrentHashMap<>();
+    private final AtomicLong intervalEnd = new AtomicLong(System.nanoTime());
+    private final AtomicLong intervalMinSojourn = new AtomicLong(NO_SAMPLE);
+    private volatile boolean overloaded;
+    private volatile long lastMinSojourn = -1L;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder shedNormal = new LongAdder();
+    private final LongAdder shedSheddable = new LongAdder();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 入口处判断是否放行
+     *
+     * @param source      到达时间的来源，用于扣除该来源的基线延迟
+     * @param arrivalTime 发出/到达时间（epoch毫秒），小于0表示未知
+     * @param level       入口优先级
+     * @return 是否放行
+     */
+    public boolean tryAdmit(String source, long arrivalTime, ShedPriority.Level level) {
+        if (arrivalTime < 0) {
+            admitted.increment();
+            return true;
+        }
+        long sojourn = sojourn(source, System.currentTimeMillis() - arrivalTime);
+        sampled.increment();
+        boolean nowOverloaded = sample(sojourn);
+        if (!nowOverloaded || level == ShedPriority.Level.CRITICAL) {
+            admitted.increment();
+            return true;
+        }
+        if (level == ShedPriority.Level.SHEDDABLE) {
+            if (sojourn > targetMs) {
+                shedSheddable.increment();
+                return false;
+            }
+        } else if (sojourn > 2 * targetMs) {
+            shedNormal.increment();
+            return false;
+        }
+        admitted.increment();
+        return true;
+    }
+
+    /**
+     * 计入一个排队时长样本，interval结束时由首个到达的请求结算
+     *
+     * @param sojourn
+     * @return 当前是否处于过载状态
+     */
+    private boolean sample(long sojourn) {
+        long now = System.nanoTime();
+        long end = intervalEnd.get();
+        if (now - end >= 0 && intervalEnd.compareAndSet(end, now + TimeUnit.MILLISECONDS.toNanos(intervalMs))) {
+            long min = intervalMinSojourn.getAndSet(NO_SAMPLE);
+            overloaded = min != NO_SAMPLE && min > targetMs;
+            lastMinSojourn = min == NO_SAMPLE ? -1L : min;
+        }
+        long current;
+        do {
+            current = intervalMinSojourn.get();
+        } while (sojourn < current && !intervalMinSojourn.compareAndSet(current, sojourn));
+        return overloaded;
+    }
+
+    private long sojourn(String source, long delay) {
+        BaseDelay baseDelay = baseDelays.get(source);
+        if (baseDelay == null) {
+            String key = baseDelays.size() < MAX_SOURCES ? source : OVERFLOW_SOURCE;
+            baseDelay = baseDelays.computeIfAbsent(key, k -> new BaseDelay());
+        }
+        // 过载期间的延迟含排队时长，计入基线会使持续过载被当作时钟偏差抵消：只用非过载期间、且比基线高出不超过target的样本更新基线
+        return Math.max(0L, delay - baseDelay.update(delay, TimeUnit.MILLISECONDS.toNanos(baseWindowMs), !overloaded, targetMs));
+    }
+
+    public LoadShedStatDTO snapshot() {
+        LoadShedStatDTO dto = new LoadShedStatDTO();
+        dto.setEnabled(enabled);
+        dto.setOverloaded(overloaded);
+        dto.setLastMinSojourn(lastMinSojourn);
+        dto.setAdmitted(admitted.sum());
+        dto.setSampled(sampled.sum());
+        dto.setShedNormal(shedNormal.sum());
+        dto.setShedSheddable(shedSheddable.sum());
+        dto.setSources(baseDelays.size());
+        return dto;
+    }
+
+    /**
+     * 一个来源的基线延迟：当前与上一个窗口内观察到的最小延迟，窗口轮换使基线能跟随时钟漂移与网络变化。
+     * 没有样本的窗口不参与轮换，过载期间基线保持过载前的值；每个窗口基线最多上升maxRise，排队形成的延迟无法抬高基线
+     */
+    private static final class BaseDelay {
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+        private final AtomicLong current = new AtomicLong(Long.MAX_VALUE);
+        private volatile long previous = Long.MAX_VALUE;
+
+        /**
+         * @param delay       本次观察到的延迟
+         * @param windowNanos 窗口时长
+         * @param record      是否计入基线
+         * @param maxRise     计入基线的样本最多比当前基线高出的值
+         * @return 基线延迟，尚无样本时为delay本身
+         */
+        long update(long delay, long windowNanos, boolean record, long maxRise) {
+            long now = System.nanoTime();
+            long start = windowStart.get();
+            if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+                long last = current.getAndSet(Long.MAX_VALUE);
+                if (last != Long.MAX_VALUE) {
+                    previous = last;
+                }
+            }
+            long min = current.get();
+            long base = Math.min(min, previous);
+            if (record && (base == Long.MAX_VALUE || delay - base <= maxRise)) {
+                while (delay < min && !current.compareAndSet(min, delay)) {
+                    min = current.get();
+                }
+                base = Math.min(base, delay);
+            }
+            return base == Long.MAX_VALUE ? delay : base;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.linkgems.rical.common.eve.component.stat;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.domain.dto.MethodStatDTO;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @description: 单个方法的调用统计，按窗口累计，重置时整体替换窗口
+ * @author: meidanlong
+ * @date: 2026/10/17 4:15 AM
+ */
+public class MethodStat {
+
+    @Getter
+    private final String name;
+    private final AtomicReference<Window> window = new AtomicReference<>(new Window());
+
+    public MethodStat(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 记录一次调用
+     *
+     * @param costNanos 耗时，单位ns
+     * @param success   是否成功
+     */
+    public void record(long costNanos, boolean success) {
+        Window current = window.get();
+        current.histogram.record(TimeUnit.NANOSECONDS.toMicros(costNanos));
+        if (!success) {
+            current.errors.increment();
+        }
+    }
+
+    /**
+     * 当前窗口统计
+     *
+     * @param reset 读取后是否开启新窗口
+     * @return
+     */
+    public MethodStatDTO snapshot(boolean reset) {
+        Window current = reset ? window.getAndSet(new Window()) : window.get();
+        LatencyHistogram histogram = current.histogram;
+        long now = System.currentTimeMillis();
+        long calls = histogram.getCount();
+        double seconds = Math.max(now - current.startMillis, 1L) / 1000D;
+        MethodStatDTO dto = new MethodStatDTO();
+        dto.setMethod(name);
+        dto.setCalls(calls);
+        dto.setErrors(current.errors.sum());
+        dto.setThroughput(calls / seconds);
+        dto.setP50(toMillis(histogram.getPercentile(0.5D)));
+        dto.setP90(toMillis(histogram.getPercentile(0.9D)));
+        dto.setP99(toMillis(histogram.getPercentile(0.99D)));
+        dto.setMax(toMillis(histogram.getMax()));
+        dto.setWindowStart(current.startMillis);
+        dto.setWindowSeconds(seconds);
+        return dto;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000D;
+    }
+
+    private static class Window {
+        private final long startMillis = System.currentTimeMillis();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,127 @@
+package org.linkgems.rical.common.eve.component.stat;
+
+import org.linkgems.rical.common.eve.component.batch.BatchStat;
+import org.linkgems.rical.common.eve.component.cache.WTinyLfuCache;
+import org.linkgems.rical.common.eve.component.retry.RetryStat;
+import org.linkgems.rical.common.eve.domain.dto.BatchStatDTO;
+import org.linkgems.rical.common.eve.domain.dto.CacheStatDTO;
+import org.linkgems.rical.common.eve.domain.dto.MethodStatDTO;
+import org.linkgems.rical.common.eve.domain.dto.RetryStatDTO;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description: 方法调用统计注册表，包含@Log耗时统计、@Retry重试统计、@LocalCache缓存统计与@Batch批量合并统计
+ * @author: meidanlong
+ * @date: 2026/10/17 4:15 AM
+ */
+@Component
+public class MethodStatRegistry {
+
+    private final Map<String, MethodStat> stats = new ConcurrentHashMap<>();
+    private final Map<String, RetryStat> retryStats = new ConcurrentHashMap<>();
+    private final Map<String, WTinyLfuCache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final Map<String, BatchStat> batchStats = new ConcurrentHashMap<>();
+
+    /**
+     * 统计与二进制日志中的方法标识：声明类全名、方法名与参数类型，重载方法与不同包下的同名类互不合并
+     *
+     * @param method
+     * @return 如com.foo.UserService.query(java.lang.Long,int)
+     */
+    public static String methodKey(Method method) {
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            parameters.add(parameterType.getTypeName());
+        }
+        return method.getDeclaringClass().getName() + "." + method.getName() + parameters;
+    }
+
+    /**
+     * 获取或注册方法统计，应在方法元数据解析时调用一次并持有返回值
+     *
+     * @param name
+     * @return
+     */
+    public MethodStat register(String name) {
+        return stats.computeIfAbsent(name, MethodStat::new);
+    }
+
+    /**
+     * 所有方法的当前窗口统计
+     *
+     * @param reset 读取后是否开启新窗口
+     * @return
+     */
+    public List<MethodStatDTO> snapshot(boolean reset) {
+        List<MethodStatDTO> result = new ArrayList<>(stats.size());
+        for (MethodStat stat : stats.values()) {
+            result.add(stat.snapshot(reset));
+        }
+        result.sort(Comparator.comparing(MethodStatDTO::getMethod));
+        return result;
+    }
+
+    /**
+     * 获取或注册方法重试统计
+     *
+     * @param name
+     * @return
+     */
+    public RetryStat registerRetry(String name) {
+        return retryStats.computeIfAbsent(name, RetryStat::new);
+    }
+
+    public List<RetryStatDTO> snapshotRetry() {
+        List<RetryStatDTO> result = new ArrayList<>(retryStats.size());
+        for (RetryStat stat : retryStats.values()) {
+            result.add(stat.snapshot());
+        }
+        result.sort(Comparator.comparing(RetryStatDTO::getMethod));
+        return result;
+    }
+
+    /**
+     * 注册方法结果缓存，同名缓存以后注册的为准
+     *
+     * @param cache
+     */
+    public void registerCache(WTinyLfuCache<?, ?> cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    public List<CacheStatDTO> snapshotCache() {
+        List<CacheStatDTO> result = new ArrayList<>(caches.size());
+        for (WTinyLfuCache<?, ?> cache : caches.values()) {
+            result.add(cache.snapshot());
+        }
+        result.sort(Comparator.comparing(CacheStatDTO::getName));
+        return result;
+    }
+
+    /**
+     * 获取或注册方法批量合并统计
+     *
+     * @param name
+     * @return
+     */
+    public BatchStat registerBatch(String name) {
+        return batchStats.computeIfAbsent(name, BatchStat::new);
+    }
+
+    public List<BatchStatDTO> snapshotBatch() {
+        List<BatchStatDTO> result = new ArrayList<>(batchStats.size());
+        for (BatchStat stat : batchStats.values()) {
+            result.add(stat.snapshot());
+        }
+        result.sort(Comparator.comparing(BatchStatDTO::getMethod));
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package org.linkgems.rical.common.eve.component.trace;
+
+import org.apache.dubbo.rpc.RpcContext;
+import org.linkgems.rical.common.eve.domain.constant.TraceConstant;
+import org.linkgems.rical.common.eve.utils.ThreadLocalUtil;
+import org.slf4j.MDC;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * @description: 链路追踪上下文。traceId按 当前上下文 -> HTTP请求头（HTTP入口）或RpcContext attachment（Dubbo provider入口） 的顺序沿用上游，均没有时在首个入口生成；
+ * 每个入口开启新的spanId。traceId写入ThreadLocalUtil，由消费端{@link org.linkgems.rical.common.eve.filter.ContextAttachmentFilter}随每次Dubbo调用传给下游，HTTP入口在响应头中回传
+ * @author: meidanlong
+ * @date: 2026/10/17 4:49 AM
+ */
+public class TraceContext {
+
+    private TraceContext() {
+    }
+
+    public static String currentTraceId() {
+        return ThreadLocalUtil.get(ThreadLocalUtil.TRACE_ID);
+    }
+
+    public static String currentSpanId() {
+        return ThreadLocalUtil.get(ThreadLocalUtil.SPAN_ID);
+    }
+
+    /**
+     * 入口处开启span，须在ThreadLocalUtil上下文作用域内调用
+     *
+     * @param rpcContext
+     */
+    public static void begin(RpcContext rpcContext) {
+        ServletRequestAttributes servletAttributes = servletAttributes();
+        HttpServletRequest request = servletAttributes == null ? null : servletAttributes.getRequest();
+        String traceId = currentTraceId();
+        if (traceId == null) {
+            if (request != null) {
+                // HTTP线程上的RpcContext不会被Dubbo重置，其中的attachment可能是上一个请求留下的，只认请求头
+                traceId = request.getHeader(TraceConstant.TRACE_ID_HEADER);
+            } else if (rpcContext.isProviderSide()) {
+                traceId = rpcContext.getAttachment(TraceConstant.TRACE_ID);
+            }
+            if (!TraceIdGenerator.isValid(traceId)) {
+                traceId = TraceIdGenerator.newTraceId();
+            }
+        }
+        String spanId = TraceIdGenerator.newSpanId();
+        ThreadLocalUtil.set(ThreadLocalUtil.TRACE_ID, traceId);
+        ThreadLocalUtil.set(ThreadLocalUtil.SPAN_ID, spanId);
+        if (servletAttributes != null) {
+            HttpServletResponse response = servletAttributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                response.setHeader(TraceConstant.TRACE_ID_HEADER, traceId);
+            }
+        }
+    }
+
+    /**
+     * 将当前上下文的traceId/spanId写入MDC，关闭时恢复原值
+     *
+     * @return
+     */
+    public static MdcScope bindMdc() {
+        return new MdcScope(currentTraceId(), currentSpanId());
+    }
+
+    private static ServletRequestAttributes servletAttributes() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? (ServletRequestAttributes) attributes : null;
+    }
+
+    public static final class MdcScope implements AutoCloseable {
+        private final String previousTraceId;
+        private final String previousSpanId;
+
+        private MdcScope(String traceId, String spanId) {
+            this.previousTraceId = MDC.get(TraceConstant.TRACE_ID);
+            this.previousSpanId = MDC.get(TraceConstant.SPAN_ID);
+            put(TraceConstant.TRACE_ID, traceId);
+            put(TraceConstant.SPAN_ID, spanId);
+        }
+
+        @Override
+        public void close() {
+            put(TraceConstant.TRACE_ID, previousTraceId);
+            put(TraceConstant.SPAN_ID, previousSpanId);
+        }
+
+        private static void put(String key, String value) {
+            if (value == null) {
+                MDC.remove(key);
+            } else {
+                MDC.put(key, value);
+            }
+        }
+    }
+}
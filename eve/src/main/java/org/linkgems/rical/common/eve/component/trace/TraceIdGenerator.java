@@ -0,0 +1,62 @@
+package org.linkgems.rical.common.eve.component.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @description: traceId/spanId生成。基于ThreadLocalRandom，无锁、无SecureRandom熵池竞争；
+ * traceId为32位十六进制（前8位为秒级时间戳，便于按时间定位），spanId为16位十六进制
+ * @author: meidanlong
+ * @date: 2026/10/17 4:49 AM
+ */
+public class TraceIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int MAX_LENGTH = 64;
+
+    private TraceIdGenerator() {
+    }
+
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[32];
+        fill(chars, 0, 8, System.currentTimeMillis() / 1000L);
+        fill(chars, 8, 16, random.nextLong());
+        fill(chars, 24, 8, random.nextLong());
+        return new String(chars);
+    }
+
+    public static String newSpanId() {
+        char[] chars = new char[16];
+        fill(chars, 0, 16, ThreadLocalRandom.current().nextLong());
+        return new String(chars);
+    }
+
+    /**
+     * 上游传入的id是否可用，拒绝过长或含特殊字符的值，避免污染日志
+     *
+     * @param id
+     * @return
+     */
+    public static boolean isValid(String id) {
+        if (id == null || id.isEmpty() || id.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 以value的低digits*4位填充十六进制字符
+     */
+    private static void fill(char[] chars, int offset, int digits, long value) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.linkgems.rical.common.eve.controller;
+
+import org.linkgems.rical.common.eve.component.breaker.CircuitBreakerRegistry;
+import org.linkgems.rical.common.eve.component.limiter.AdaptiveConcurrencyLimiter;
+import org.linkgems.rical.common.eve.component.limiter.ConsumerQuotaLimiter;
+import org.linkgems.rical.common.eve.component.shed.CoDelLoadShedder;
+import org.linkgems.rical.common.eve.component.stat.MethodStatRegistry;
+import org.linkgems.rical.common.eve.domain.dto.BatchStatDTO;
+import org.linkgems.rical.common.eve.domain.dto.CacheStatDTO;
+import org.linkgems.rical.common.eve.domain.dto.CircuitBreakerStatDTO;
+import org.linkgems.rical.common.eve.domain.dto.ConcurrencyLimitStatDTO;
+import org.linkgems.rical.common.eve.domain.dto.ConsumerQuotaStatDTO;
+import org.linkgems.rical.common.eve.domain.dto.LoadShedStatDTO;
+import org.linkgems.rical.common.eve.domain.dto.MethodStatDTO;
+import org.linkgems.rical.common.eve.domain.dto.RetryStatDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * @description: @Log方法耗时统计、@Retry重试统计、@LocalCache缓存统计、@Batch批量合并统计、@CircuitBreaker熔断状态、入口并发限制、过载丢弃与上游配额
+ * @author: meidanlong
+ * @date: 2026/10/17 4:15 AM
+ */
+@RestController
+public class MethodStatController {
+
+    @Autowired
+    private MethodStatRegistry methodStatRegistry;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    @Autowired
+    private CoDelLoadShedder coDelLoadShedder;
+
+    @Autowired
+    private ConsumerQuotaLimiter consumerQuotaLimiter;
+
+    /**
+     * 各方法当前窗口的P50/P90/P99/max与吞吐
+     *
+     * @param reset 读取后是否开启新窗口，用于按固定周期采集
+     * @return
+     */
+    @GetMapping("methodStat")
+    public List<MethodStatDTO> methodStat(@RequestParam(value = "reset", defaultValue = "false") boolean reset) {
+        return methodStatRegistry.snapshot(reset);
+    }
+
+    /**
+     * 各@Retry方法的执行、重试、预算拒绝与最终失败次数
+     *
+     * @return
+     */
+    @GetMapping("retryStat")
+    public List<RetryStatDTO> retryStat() {
+        return methodStatRegistry.snapshotRetry();
+    }
+
+    /**
+     * 各@LocalCache方法的命中率、容量与淘汰次数
+     *
+     * @return
+     */
+    @GetMapping("cacheStat")
+    public List<CacheStatDTO> cacheStat() {
+        return methodStatRegistry.snapshotCache();
+    }
+
+    /**
+     * 各@Batch方法的批次大小分布与排队时长分布
+     *
+     * @return
+     */
+    @GetMapping("batchStat")
+    public List<BatchStatDTO> batchStat() {
+        return methodStatRegistry.snapshotBatch();
+    }
+
+    /**
+     * 各熔断器的状态、窗口内失败率与慢调用率
+     *
+     * @return
+     */
+    @GetMapping("circuitBreaker")
+    public List<CircuitBreakerStatDTO> circuitBreaker() {
+        return circuitBreakerRegistry.snapshot();
+    }
+
+    /**
+     * 入口自适应并发限制的当前上限、并发数、拒绝次数与RT
+     *
+     * @return
+     */
+    @GetMapping("concurrencyLimit")
+    public ConcurrencyLimitStatDTO concurrencyLimit() {
+        return adaptiveConcurrencyLimiter.snapshot();
+    }
+
+    /**
+     * 入口过载丢弃状态：是否过载、最近interval的最小排队时长与按优先级的丢弃次数
+     *
+     * @return
+     */
+    @GetMapping("loadShed")
+    public LoadShedStatDTO loadShed() {
+        return coDelLoadShedder.snapshot();
+    }
+
+    /**
+     * 各上游应用的配额、当前与峰值并发、放行与拒绝次数及平均RT
+     *
+     * @return
+     */
+    @GetMapping("consumerQuota")
+    public List<ConsumerQuotaStatDTO> consumerQuota() {
+        return consumerQuotaLimiter.snapshot();
+    }
+
+    @PostMapping("methodStat/reset")
+    public String reset() {
+        methodStatRegistry.snapshot(true);
+        return "success";
+    }
+}
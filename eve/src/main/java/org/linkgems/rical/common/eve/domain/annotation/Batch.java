@@ -0,0 +1,49 @@
+package org.linkgems.rical.common.eve.domain.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 将并发的单条调用合并为一次批量调用。被注解方法只有一个入参（单条key），
+ * 同一时间窗口内或攒满maxSize条后，去重后的key列表交给同一个Bean上的批量方法执行一次，结果按key分发给各调用方。
+ * 批量方法只有一个List/Collection/Set入参，返回Map（按key取值，缺失为null）或与入参顺序一致的List，也可返回其CompletableFuture。
+ * 单线程循环调用时请使用返回CompletableFuture的形式，同步方法只能合并不同线程的并发调用
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Batch {
+
+    /**
+     * 批量方法名
+     *
+     * @return
+     */
+    String method();
+
+    /**
+     * 单批最大条数，攒满立即发起批量调用
+     *
+     * @return
+     */
+    int maxSize() default 100;
+
+    /**
+     * 攒批窗口，单位ms，从批次中第一条调用到达开始计时
+     *
+     * @return
+     */
+    long windowMs() default 5L;
+
+    /**
+     * 同步调用方等待批量结果的最长时长，单位ms，超时抛出BATCH_TIMEOUT，不影响进行中的批量调用；
+     * 请求截止时间更早时以截止时间为准，到期抛出DEADLINE_EXCEEDED。小于等于0表示只受截止时间限制。
+     * 返回CompletableFuture/CompletionStage的方法不受该配置限制
+     *
+     * @return
+     */
+    long timeoutMs() default 3000L;
+}
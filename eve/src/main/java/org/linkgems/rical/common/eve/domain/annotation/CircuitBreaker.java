@@ -0,0 +1,90 @@
+package org.linkgems.rical.common.eve.domain.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 熔断。最近windowSize次调用的失败率或慢调用率超过阈值后打开，打开期间直接快速失败；
+ * 等待waitDurationMs后半开，放行halfOpenCalls次试探调用，试探结果决定关闭或再次打开
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CircuitBreaker {
+
+    /**
+     * 熔断器名称，同名方法共享同一个熔断器（以先解析的方法配置为准），如按下游依赖命名。
+     * 默认每个方法独立
+     *
+     * @return
+     */
+    String name() default "";
+
+    /**
+     * 失败率阈值，百分比
+     *
+     * @return
+     */
+    float failureRateThreshold() default 50F;
+
+    /**
+     * 慢调用率阈值，百分比
+     *
+     * @return
+     */
+    float slowCallRateThreshold() default 100F;
+
+    /**
+     * 慢调用耗时，单位ms。小于等于0表示不统计慢调用
+     *
+     * @return
+     */
+    long slowCallDurationMs() default 0L;
+
+    /**
+     * 滑动窗口大小，按调用次数计
+     *
+     * @return
+     */
+    int windowSize() default 100;
+
+    /**
+     * 窗口内至少有多少次调用才计算失败率
+     *
+     * @return
+     */
+    int minimumCalls() default 20;
+
+    /**
+     * 打开状态持续时长，单位ms
+     *
+     * @return
+     */
+    long waitDurationMs() default 10000L;
+
+    /**
+     * 半开状态放行的试探调用次数
+     *
+     * @return
+     */
+    int halfOpenCalls() default 5;
+
+    /**
+     * 降级方法名，需与被注解方法在同一个类中、参数列表相同，可额外追加一个Throwable参数接收失败原因。
+     * 熔断拒绝或调用失败（计为失败的异常，不含ignoreExceptions）时执行；为空时拒绝抛出CIRCUIT_BREAKER_OPEN，失败原样抛出。
+     * 同时标注@Retry时，熔断位于重试内层，调用失败原样抛出交给重试，降级只在熔断拒绝时执行
+     *
+     * @return
+     */
+    String fallback() default "";
+
+    /**
+     * 不计为失败的异常，如参数校验类业务异常
+     *
+     * @return
+     */
+    Class<? extends Throwable>[] ignoreExceptions() default {};
+}
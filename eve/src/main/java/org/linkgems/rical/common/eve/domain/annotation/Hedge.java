@@ -0,0 +1,45 @@
+package org.linkgems.rical.common.eve.domain.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 对冲调用，仅用于幂等的只读方法。首次调用超过延迟仍未完成时并发发起第二次调用，取先成功的结果并取消另一个。
+ * 同步方法的调用会在独立线程池中执行，两次调用都在调用方的上下文（ThreadLocalUtil、RpcContext attachment、MDC）中执行
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Hedge {
+
+    /**
+     * 对冲延迟取该方法近期成功调用耗时的分位数，百分比
+     *
+     * @return
+     */
+    double percentile() default 95D;
+
+    /**
+     * 固定对冲延迟，单位ms。大于0时不再按分位数计算
+     *
+     * @return
+     */
+    long delayMs() default 0L;
+
+    /**
+     * 按分位数计算延迟至少需要的样本数，不足时不对冲
+     *
+     * @return
+     */
+    int minSamples() default 100;
+
+    /**
+     * 对冲调用占总调用数的最大比例，保证对冲不会使下游负载翻倍
+     *
+     * @return
+     */
+    double maxHedgeRatio() default 0.1D;
+}
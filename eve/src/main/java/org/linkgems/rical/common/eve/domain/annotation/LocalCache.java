@@ -0,0 +1,68 @@
+package org.linkgems.rical.common.eve.domain.annotation;
+
+import org.linkgems.rical.common.eve.component.cache.CacheWeigher;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 进程内方法结果缓存，以方法 + 入参为key，适用于读多写少、入参可比较（equals/hashCode）的纯查询方法。
+ * 异常不缓存；返回CompletableFuture/CompletionStage的方法缓存其成功结果
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LocalCache {
+
+    /**
+     * 缓存key，基于入参的SpEL表达式，如"#userId"。为空时使用全部入参
+     *
+     * @return
+     */
+    String key() default "";
+
+    /**
+     * 最大总权重，默认权重下即最大条目数
+     *
+     * @return
+     */
+    long maxWeight() default 10000L;
+
+    /**
+     * 权重计算
+     *
+     * @return
+     */
+    Class<? extends CacheWeigher> weigher() default CacheWeigher.Unit.class;
+
+    /**
+     * 写入后过期时长，单位ms。小于等于0表示不过期，只按容量淘汰
+     *
+     * @return
+     */
+    long expireAfterWriteMs() default 60000L;
+
+    /**
+     * 写入后多久提前刷新，单位ms。命中时超过该时长则异步重新加载，期间仍返回旧值，重新加载在触发刷新的调用方上下文中执行。小于等于0表示不刷新
+     *
+     * @return
+     */
+    long refreshAfterWriteMs() default 0L;
+
+    /**
+     * 是否缓存null结果
+     *
+     * @return
+     */
+    boolean cacheNull() default false;
+
+    /**
+     * 同时标注@Log时，命中缓存的调用是否仍输出成功日志。默认不输出，省去出入参序列化
+     *
+     * @return
+     */
+    boolean logHits() default false;
+}
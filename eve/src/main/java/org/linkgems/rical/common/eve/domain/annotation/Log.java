@@ -35,4 +35,41 @@ public @interface Log {
      */
     boolean onlyOnError() default false;
 
+    /**
+     * 执行前固化入参。
+     * 默认入参按引用持有，方法返回后才序列化（异步日志在渲染线程上序列化）；
+     * 若方法会修改入参对象，开启后在执行前序列化入参，保证日志中为调用时的参数；异步日志下出参也在入队前序列化
+     *
+     * @return
+     */
+    boolean snapshotArgs() default false;
+
+    /**
+     * 成功调用的采样率，取值0~1，默认全部打印。失败调用始终打印
+     *
+     * @return
+     */
+    double sampleRate() default 1.0D;
+
+    /**
+     * 慢调用阈值，单位ms。耗时不低于该值的成功调用不受采样率限制，始终打印；小于0表示不启用
+     *
+     * @return
+     */
+    long slowThresholdMs() default -1L;
+
+    /**
+     * 仅打印的字段路径。路径以参数名开头，出参以result开头，如"query.id"、"result.list.id"
+     *
+     * @return
+     */
+    String[] includes() default {};
+
+    /**
+     * 不打印的字段路径，优先于includes。"*"匹配任意一段，如"*.password"
+     *
+     * @return
+     */
+    String[] excludes() default {};
+
 }
@@ -0,0 +1,52 @@
+package org.linkgems.rical.common.eve.domain.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 限流。超出速率的调用直接抛出BaseException(RATE_LIMIT_ERROR)，不排队等待
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimit {
+
+    /**
+     * 每秒允许的调用数
+     *
+     * @return
+     */
+    double permitsPerSecond();
+
+    /**
+     * 允许的突发调用数，即令牌桶容量。小于等于0时取max(1, permitsPerSecond)
+     *
+     * @return
+     */
+    int burst() default 0;
+
+    /**
+     * 限流维度，基于入参的SpEL表达式，如"#userId"、"#request.tenantId"。
+     * 为空时整个方法共用一个令牌桶，否则每个key一个令牌桶
+     *
+     * @return
+     */
+    String key() default "";
+
+    /**
+     * key维度下最多保留的令牌桶数量，超出后新key共用一个溢出令牌桶
+     *
+     * @return
+     */
+    int maxKeys() default 10000;
+
+    /**
+     * key维度下令牌桶空闲多久后可被清理，单位ms。被清理的桶已是满桶，重建不影响限流结果
+     *
+     * @return
+     */
+    long keyIdleMs() default 60000L;
+}
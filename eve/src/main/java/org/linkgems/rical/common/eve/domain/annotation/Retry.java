@@ -27,6 +27,62 @@ public @interface Retry {
 
     /**
      * 重试空窗期，单位ms。最大时长为10s（60000ms）
+     * 非FIXED退避策略下作为初始间隔
      */
     long emptyWindow() default 0;
+
+    /**
+     * 退避策略
+     *
+     * @return
+     */
+    Backoff backoff() default Backoff.FIXED;
+
+    /**
+     * 指数退避的倍数
+     *
+     * @return
+     */
+    double multiplier() default 2.0D;
+
+    /**
+     * 退避间隔上限，单位ms。最大为60000ms
+     *
+     * @return
+     */
+    long maxDelay() default 10000L;
+
+    /**
+     * 重试预算比例：每次成功调用向令牌桶存入该比例的令牌，每次重试消耗1个，
+     * 如0.1表示长期来看重试次数不超过成功调用的10%。小于等于0表示不限制
+     *
+     * @return
+     */
+    double budgetRatio() default 0.1D;
+
+    /**
+     * 重试预算令牌桶容量，也是初始令牌数，用于低流量或突发时的兜底
+     *
+     * @return
+     */
+    int budgetCapacity() default 100;
+
+    enum Backoff {
+        /**
+         * 固定间隔emptyWindow
+         */
+        FIXED,
+        /**
+         * 指数退避：emptyWindow * multiplier^(n-1)
+         */
+        EXPONENTIAL,
+        /**
+         * 指数退避 + 全抖动：[0, emptyWindow * multiplier^(n-1)]内随机
+         */
+        EXPONENTIAL_JITTER,
+        /**
+         * 去相关抖动：[emptyWindow, 上次间隔 * 3]内随机
+         */
+        DECORRELATED_JITTER
+    }
 }
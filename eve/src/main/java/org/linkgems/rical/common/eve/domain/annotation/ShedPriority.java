@@ -0,0 +1,34 @@
+package org.linkgems.rical.common.eve.domain.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 入口过载丢弃（rical.load-shed.enabled）时的优先级，可标注在provider/controller的方法或类上，方法上的优先。
+ * 未标注的入口为NORMAL；eve自身的controller（健康检查、统计）不参与丢弃
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ShedPriority {
+
+    Level value();
+
+    enum Level {
+        /**
+         * 从不丢弃，用于健康检查、支付回调等关键入口
+         */
+        CRITICAL,
+        /**
+         * 过载时丢弃排队超过2倍target的请求
+         */
+        NORMAL,
+        /**
+         * 过载时丢弃排队超过target的请求，用于批量任务、报表等可稍后重试的入口
+         */
+        SHEDDABLE
+    }
+}
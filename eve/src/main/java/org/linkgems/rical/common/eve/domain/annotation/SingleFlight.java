@@ -0,0 +1,32 @@
+package org.linkgems.rical.common.eve.domain.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 合并并发的相同调用：同一key同时只有一次执行，其余调用等待并共享其结果，调用结束后不保留任何结果（区别于@LocalCache）。
+ * 适用于热点key失效后大量请求同时回源的场景，被合并的方法需是幂等查询
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+    /**
+     * 合并key，基于入参的SpEL表达式，如"#userId"。为空时使用全部入参
+     *
+     * @return
+     */
+    String key() default "";
+
+    /**
+     * 等待进行中调用的最长时长，单位ms，超时抛出SINGLE_FLIGHT_TIMEOUT，不影响进行中的调用。小于等于0表示一直等待。
+     * 返回CompletableFuture/CompletionStage的方法，等待方拿到的future同样在超时后以SINGLE_FLIGHT_TIMEOUT结束
+     *
+     * @return
+     */
+    long timeoutMs() default 3000L;
+}
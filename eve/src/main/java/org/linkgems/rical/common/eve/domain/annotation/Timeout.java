@@ -0,0 +1,26 @@
+package org.linkgems.rical.common.eve.domain.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 调用超时。进入方法时以 min(上游截止时间, 当前时间 + value) 作为截止时间，已超时则直接抛出DEADLINE_EXCEEDED；
+ * 截止时间在方法执行期间传给下游Dubbo调用与@Retry。
+ * 返回CompletableFuture/CompletionStage的方法到期后返回的future以DEADLINE_EXCEEDED失败；
+ * 同步方法不会被中断，可在耗时逻辑中调用DeadlineContext.check()尽早放弃
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Timeout {
+
+    /**
+     * 超时时长，单位ms
+     *
+     * @return
+     */
+    long value();
+}
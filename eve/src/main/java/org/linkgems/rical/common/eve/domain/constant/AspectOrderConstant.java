@@ -0,0 +1,41 @@
+package org.linkgems.rical.common.eve.domain.constant;
+
+import org.springframework.core.Ordered;
+
+/**
+ * @description: 切面顺序常量，值越小越靠外层。
+ * 入口上下文位于最外层，其余切片都在请求上下文内执行；入口过载丢弃、上游配额与并发限制紧随其后，过载时的拒绝尽量廉价，排队过久被丢弃或超出自身配额的请求不占用并发许可。
+ * 调用链为 (Provider -> LoadShed -> ConsumerQuota -> ConcurrencyLimit) -> Log -> Timeout -> Cache -> SingleFlight -> Batch -> RateLimit -> Retry -> Hedge -> CircuitBreaker -> 业务方法：日志记录包含限流、重试与熔断的最终结果，截止时间覆盖其内层的所有切片，
+ * 缓存命中与合并调用的等待方不占用限流许可，一次调用只占用一个限流许可，每次重试与对冲调用都经过熔断器计数，熔断打开后的重试被快速失败
+ * @author: meidanlong
+ * @date: 2026/10/17 4:29 AM
+ */
+public class AspectOrderConstant {
+
+    public final static int PROVIDER = Ordered.HIGHEST_PRECEDENCE;
+
+    public final static int LOAD_SHED = Ordered.HIGHEST_PRECEDENCE + 25;
+
+    public final static int CONSUMER_QUOTA = Ordered.HIGHEST_PRECEDENCE + 40;
+
+    public final static int CONCURRENCY_LIMIT = Ordered.HIGHEST_PRECEDENCE + 50;
+
+    public final static int LOG = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    public final static int TIMEOUT = 40;
+
+    public final static int CACHE = 50;
+
+    public final static int SINGLE_FLIGHT = 75;
+
+    public final static int BATCH = 90;
+
+    public final static int RATE_LIMIT = 100;
+
+    public final static int RETRY = 200;
+
+    public final static int HEDGE = 250;
+
+    public final static int CIRCUIT_BREAKER = 300;
+
+}
@@ -0,0 +1,15 @@
+package org.linkgems.rical.common.eve.domain.constant;
+
+/**
+ * @description: 链路追踪的传递key，RpcContext attachment、ThreadLocalUtil与MDC使用同名key
+ * @author: meidanlong
+ * @date: 2026/10/17 4:49 AM
+ */
+public class TraceConstant {
+
+    public final static String TRACE_ID = "traceId";
+    public final static String SPAN_ID = "spanId";
+
+    public final static String TRACE_ID_HEADER = "X-Trace-Id";
+    public final static String SPAN_ID_HEADER = "X-Span-Id";
+}
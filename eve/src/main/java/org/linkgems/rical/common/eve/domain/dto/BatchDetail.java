@@ -0,0 +1,78 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.component.batch.BatchStat;
+import org.linkgems.rical.common.eve.component.batch.MicroBatcher;
+import org.linkgems.rical.common.eve.component.stat.MethodStatRegistry;
+import org.linkgems.rical.common.eve.domain.annotation.Batch;
+import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @description: @Batch方法元数据与该方法的攒批器。每个方法只解析一次
+ * @author: meidanlong
+ * @date: 2026/10/17 4:43 AM
+ */
+@Getter
+public class BatchDetail {
+
+    private final String classMethodName;
+    /**
+     * 批量方法
+     */
+    private final Method bulkMethod;
+    /**
+     * 是否返回CompletableFuture/CompletionStage
+     */
+    private final boolean async;
+    /**
+     * 同步调用方的最长等待时长，单位ms
+     */
+    private final long timeoutMs;
+    private final MicroBatcher batcher;
+
+    private BatchDetail(Method method, Batch batch, MethodStatRegistry methodStatRegistry) {
+        this.classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, method.getDeclaringClass().getSimpleName(), method.getName());
+        if (method.getParameterCount() != 1) {
+            throw new IllegalArgumentException(classMethodName + " must have exactly one parameter");
+        }
+        this.bulkMethod = findBulkMethod(method.getDeclaringClass(), batch.method());
+        ReflectionUtils.makeAccessible(bulkMethod);
+        Class<?> returnType = method.getReturnType();
+        this.async = CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class);
+        this.timeoutMs = batch.timeoutMs();
+        boolean setParameter = !bulkMethod.getParameterTypes()[0].isAssignableFrom(ArrayList.class);
+        String statName = MethodStatRegistry.methodKey(method);
+        BatchStat stat = methodStatRegistry == null ? new BatchStat(statName) : methodStatRegistry.registerBatch(statName);
+        this.batcher = new MicroBatcher(batch.maxSize(), batch.windowMs(), (target, keys) -> {
+            try {
+                return bulkMethod.invoke(target, setParameter ? new LinkedHashSet<>(keys) : keys);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }, stat);
+    }
+
+    public static BatchDetail of(Method method, MethodStatRegistry methodStatRegistry) {
+        return new BatchDetail(method, method.getAnnotation(Batch.class), methodStatRegistry);
+    }
+
+    private static Method findBulkMethod(Class<?> clazz, String name) {
+        for (Method candidate : ReflectionUtils.getAllDeclaredMethods(clazz)) {
+            if (candidate.getName().equals(name) && candidate.getParameterCount() == 1) {
+                Class<?> parameterType = candidate.getParameterTypes()[0];
+                if (parameterType.isAssignableFrom(ArrayList.class) || parameterType.isAssignableFrom(LinkedHashSet.class)) {
+                    return candidate;
+                }
+            }
+        }
+        throw new IllegalArgumentException(String.format("bulk method %s(List/Collection/Set) not found in %s", name, clazz.getName()));
+    }
+}
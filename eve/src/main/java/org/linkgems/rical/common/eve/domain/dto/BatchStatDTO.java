@@ -0,0 +1,41 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Data;
+
+/**
+ * @description: 批量合并统计
+ * @author: meidanlong
+ * @date: 2026/10/17 4:43 AM
+ */
+@Data
+public class BatchStatDTO {
+
+    /**
+     * 方法标识：声明类全名.方法名(参数类型)，见MethodStatRegistry#methodKey
+     */
+    private String method;
+    /**
+     * 批量调用次数
+     */
+    private long batches;
+    /**
+     * 合并的单条调用数
+     */
+    private long items;
+    /**
+     * 批量调用失败次数
+     */
+    private long failures;
+    private double avgSize;
+    private long sizeP50;
+    private long sizeP90;
+    private long sizeP99;
+    private long sizeMax;
+    /**
+     * 单条调用从到达至批量调用开始的等待时长，单位us
+     */
+    private long queueDelayP50;
+    private long queueDelayP90;
+    private long queueDelayP99;
+    private long queueDelayMax;
+}
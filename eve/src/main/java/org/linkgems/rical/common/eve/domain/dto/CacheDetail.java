@@ -0,0 +1,72 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.component.cache.CacheWeigher;
+import org.linkgems.rical.common.eve.component.cache.WTinyLfuCache;
+import org.linkgems.rical.common.eve.component.key.MethodKeyResolver;
+import org.linkgems.rical.common.eve.component.stat.MethodStatRegistry;
+import org.linkgems.rical.common.eve.domain.annotation.LocalCache;
+import org.linkgems.rical.common.eve.domain.annotation.Log;
+import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+import org.springframework.beans.BeanUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @description: @LocalCache方法元数据与该方法的缓存实例。每个方法只解析一次
+ * @author: meidanlong
+ * @date: 2026/10/17 4:38 AM
+ */
+@Getter
+public class CacheDetail {
+
+    /**
+     * 缓存null结果时的占位
+     */
+    public static final Object NULL_VALUE = new Object();
+
+    private final String classMethodName;
+    private final WTinyLfuCache<Object, Object> cache;
+    private final MethodKeyResolver keyResolver;
+    private final boolean cacheNull;
+    /**
+     * 命中时是否需要通知LogAspect跳过成功日志
+     */
+    private final boolean suppressLogOnHit;
+    /**
+     * 返回CompletableFuture/CompletionStage的方法，缓存future的成功结果
+     */
+    private final boolean async;
+
+    private CacheDetail(Method method, LocalCache localCache, MethodStatRegistry methodStatRegistry) {
+        this.classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, method.getDeclaringClass().getSimpleName(), method.getName());
+        CacheWeigher weigher = BeanUtils.instantiateClass(localCache.weigher());
+        this.cache = new WTinyLfuCache<>(classMethodName, localCache.maxWeight(), localCache.expireAfterWriteMs(), localCache.refreshAfterWriteMs(), weigher);
+        if (methodStatRegistry != null) {
+            methodStatRegistry.registerCache(this.cache);
+        }
+        this.keyResolver = new MethodKeyResolver(method, localCache.key());
+        this.cacheNull = localCache.cacheNull();
+        this.suppressLogOnHit = !localCache.logHits() && method.isAnnotationPresent(Log.class);
+        Class<?> returnType = method.getReturnType();
+        this.async = CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+
+    public static CacheDetail of(Method method, MethodStatRegistry methodStatRegistry) {
+        return new CacheDetail(method, method.getAnnotation(LocalCache.class), methodStatRegistry);
+    }
+
+    /**
+     * 计算缓存key
+     *
+     * @param target
+     * @param args
+     * @return
+     */
+    public Object keyOf(Object target, Object[] args) {
+        Object key = keyResolver.resolve(target, args);
+        return key == null ? NULL_VALUE : key;
+    }
+}
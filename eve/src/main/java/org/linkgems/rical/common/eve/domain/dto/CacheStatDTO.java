@@ -0,0 +1,35 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Data;
+
+/**
+ * @description: 方法结果缓存统计
+ * @author: meidanlong
+ * @date: 2026/10/17 4:38 AM
+ */
+@Data
+public class CacheStatDTO {
+
+    /**
+     * [类名.方法名]
+     */
+    private String name;
+    private int size;
+    private long weight;
+    private long maximumWeight;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    /**
+     * 因容量淘汰的条目数
+     */
+    private long evictions;
+    /**
+     * 因过期移除的条目数
+     */
+    private long expirations;
+    /**
+     * 提前刷新成功次数
+     */
+    private long refreshes;
+}
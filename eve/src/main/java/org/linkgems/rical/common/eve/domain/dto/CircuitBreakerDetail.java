@@ -0,0 +1,102 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.linkgems.rical.common.eve.component.breaker.CircuitBreakerRegistry;
+import org.linkgems.rical.common.eve.component.breaker.CircuitBreakerStateMachine;
+import org.linkgems.rical.common.eve.domain.annotation.CircuitBreaker;
+import org.linkgems.rical.common.eve.domain.annotation.Retry;
+import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @description: @CircuitBreaker方法元数据。每个方法只解析一次，同名方法共享熔断器
+ * @author: meidanlong
+ * @date: 2026/10/17 4:29 AM
+ */
+@Getter
+public class CircuitBreakerDetail {
+
+    private final String classMethodName;
+    private final CircuitBreakerStateMachine breaker;
+    /**
+     * 降级方法，未配置时为null
+     */
+    private final Method fallback;
+    /**
+     * 降级方法是否接收失败原因
+     */
+    private final boolean fallbackWithCause;
+    /**
+     * 调用失败时是否降级：同时标注@Retry时失败须抛给外层重试，只在熔断拒绝时降级
+     */
+    private final boolean fallbackOnFailure;
+    private final Class<? extends Throwable>[] ignoreExceptions;
+    /**
+     * 返回CompletableFuture/CompletionStage的方法，按future的结果计数
+     */
+    private final boolean async;
+
+    private CircuitBreakerDetail(Method method, CircuitBreaker circuitBreaker, CircuitBreakerRegistry registry) {
+        this.classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, method.getDeclaringClass().getSimpleName(), method.getName());
+        String name = StringUtils.isBlank(circuitBreaker.name()) ? classMethodName : circuitBreaker.name();
+        this.breaker = registry.register(name, circuitBreaker);
+        this.ignoreExceptions = circuitBreaker.ignoreExceptions();
+        Class<?> returnType = method.getReturnType();
+        this.async = CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class);
+        if (StringUtils.isBlank(circuitBreaker.fallback())) {
+            this.fallback = null;
+            this.fallbackWithCause = false;
+            this.fallbackOnFailure = false;
+            return;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?>[] withCause = Arrays.copyOf(parameterTypes, parameterTypes.length + 1);
+        withCause[parameterTypes.length] = Throwable.class;
+        Method fallbackMethod = ReflectionUtils.findMethod(method.getDeclaringClass(), circuitBreaker.fallback(), withCause);
+        this.fallbackWithCause = fallbackMethod != null;
+        if (fallbackMethod == null) {
+            fallbackMethod = ReflectionUtils.findMethod(method.getDeclaringClass(), circuitBreaker.fallback(), parameterTypes);
+        }
+        if (fallbackMethod == null) {
+            throw new IllegalStateException(String.format("fallback method %s not found for %s", circuitBreaker.fallback(), classMethodName));
+        }
+        if (!returnType.isAssignableFrom(fallbackMethod.getReturnType())) {
+            throw new IllegalStateException(String.format("fallback method %s of %s has incompatible return type", circuitBreaker.fallback(), classMethodName));
+        }
+        ReflectionUtils.makeAccessible(fallbackMethod);
+        this.fallback = fallbackMethod;
+        this.fallbackOnFailure = !method.isAnnotationPresent(Retry.class);
+    }
+
+    /**
+     * 解析被注解方法，降级方法不存在或返回类型不兼容时抛出IllegalStateException
+     *
+     * @param method
+     * @param registry
+     * @return
+     */
+    public static CircuitBreakerDetail of(Method method, CircuitBreakerRegistry registry) {
+        return new CircuitBreakerDetail(method, method.getAnnotation(CircuitBreaker.class), registry);
+    }
+
+    /**
+     * 是否计为失败，Error与未忽略的异常计为失败
+     *
+     * @param th
+     * @return
+     */
+    public boolean isFailure(Throwable th) {
+        for (Class<? extends Throwable> ignored : ignoreExceptions) {
+            if (ignored.isInstance(th)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Data;
+
+/**
+ * @description: 熔断器状态
+ * @author: meidanlong
+ * @date: 2026/10/17 4:29 AM
+ */
+@Data
+public class CircuitBreakerStatDTO {
+
+    private String name;
+    /**
+     * CLOSED/OPEN/HALF_OPEN
+     */
+    private String state;
+    /**
+     * 进入当前状态的时间戳
+     */
+    private long stateSince;
+    /**
+     * 滑动窗口内的调用数
+     */
+    private int calls;
+    /**
+     * 百分比
+     */
+    private float failureRate;
+    private float slowCallRate;
+    /**
+     * 累计快速失败次数
+     */
+    private long rejected;
+}
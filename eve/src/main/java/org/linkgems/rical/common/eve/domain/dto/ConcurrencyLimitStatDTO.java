@@ -0,0 +1,31 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Data;
+
+/**
+ * @description: 入口自适应并发限制状态
+ * @author: meidanlong
+ * @date: 2026/10/17 4:33 AM
+ */
+@Data
+public class ConcurrencyLimitStatDTO {
+
+    private boolean enabled;
+    /**
+     * 当前并发上限
+     */
+    private int limit;
+    private int inFlight;
+    /**
+     * 累计拒绝次数
+     */
+    private long rejected;
+    /**
+     * 最近窗口平均RT，单位ms
+     */
+    private double shortRtt;
+    /**
+     * 无负载RT，单位ms
+     */
+    private double noLoadRtt;
+}
@@ -0,0 +1,44 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Data;
+
+/**
+ * @description: 单个上游应用的配额与使用情况
+ * @author: meidanlong
+ * @date: 2026/10/17 5:05 AM
+ */
+@Data
+public class ConsumerQuotaStatDTO {
+
+    /**
+     * 上游应用的consumerAppKey，未单独跟踪的上游合并为*
+     */
+    private String consumer;
+    private int weight;
+    /**
+     * 当前并发配额，随活跃上游的权重调整
+     */
+    private int maxConcurrency;
+    /**
+     * 当前速率配额，0表示不限
+     */
+    private double maxQps;
+    private int inFlight;
+    private long peakInFlight;
+    /**
+     * 累计放行次数
+     */
+    private long admitted;
+    /**
+     * 累计因并发配额拒绝的次数
+     */
+    private long concurrencyRejected;
+    /**
+     * 累计因速率配额拒绝的次数
+     */
+    private long rateRejected;
+    /**
+     * 平均RT，单位ms
+     */
+    private double avgRt;
+}
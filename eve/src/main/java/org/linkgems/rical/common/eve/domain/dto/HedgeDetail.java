@@ -0,0 +1,37 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.component.hedge.HedgePolicy;
+import org.linkgems.rical.common.eve.domain.annotation.Hedge;
+import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @description: @Hedge方法元数据。每个方法只解析一次，对冲策略在同一方法的所有调用间共享
+ * @author: meidanlong
+ * @date: 2026/10/17 4:35 AM
+ */
+@Getter
+public class HedgeDetail {
+
+    private final String classMethodName;
+    private final HedgePolicy policy;
+    /**
+     * 返回CompletableFuture/CompletionStage的方法，两次调用都在调用线程上发起，无需线程池
+     */
+    private final boolean async;
+
+    private HedgeDetail(Method method, Hedge hedge) {
+        this.classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, method.getDeclaringClass().getSimpleName(), method.getName());
+        this.policy = new HedgePolicy(hedge);
+        Class<?> returnType = method.getReturnType();
+        this.async = CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+
+    public static HedgeDetail of(Method method) {
+        return new HedgeDetail(method, method.getAnnotation(Hedge.class));
+    }
+}
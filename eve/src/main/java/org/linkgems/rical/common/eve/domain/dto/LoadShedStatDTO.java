@@ -0,0 +1,39 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Data;
+
+/**
+ * @description: 入口过载丢弃状态
+ * @author: meidanlong
+ * @date: 2026/10/17 5:03 AM
+ */
+@Data
+public class LoadShedStatDTO {
+
+    private boolean enabled;
+    /**
+     * 上一个interval内最小排队时长是否超过target
+     */
+    private boolean overloaded;
+    /**
+     * 上一个interval内的最小排队时长，单位ms，无样本时为-1
+     */
+    private long lastMinSojourn;
+    /**
+     * 累计放行次数
+     */
+    private long admitted;
+    /**
+     * 累计取到到达时间的请求数，未取到的请求不参与判断
+     */
+    private long sampled;
+    /**
+     * 按优先级累计的丢弃次数
+     */
+    private long shedNormal;
+    private long shedSheddable;
+    /**
+     * 正在跟踪基线延迟的来源数（上游应用与HTTP）
+     */
+    private int sources;
+}
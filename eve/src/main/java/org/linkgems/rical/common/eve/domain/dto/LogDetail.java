@@ -0,0 +1,152 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.util.Strings;
+import org.linkgems.rical.common.eve.component.log.BinaryLogSink;
+import org.linkgems.rical.common.eve.component.log.LogPathFilter;
+import org.linkgems.rical.common.eve.component.stat.MethodStat;
+import org.linkgems.rical.common.eve.component.stat.MethodStatRegistry;
+import org.linkgems.rical.common.eve.domain.annotation.Log;
+import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @description: @Log方法元数据。每个方法只解析一次，创建后不可变，可被多线程共享
+ * @author: meidanlong
+ * @date: 2026/10/17 4:10 AM
+ */
+@Getter
+public class LogDetail {
+
+    private static final ParameterNameDiscoverer DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private static final String UNKNOWN_CLASS = "unknownClass";
+    private static final String UNKNOWN_METHOD = "unknownMethod";
+    private static final String UNKNOWN_DESC = "unknownDesc";
+
+    private final String clazz;
+    private final String method;
+    private final String desc;
+    private final boolean onlyOnError;
+    private final boolean snapshotArgs;
+    private final double sampleRate;
+    private final long slowThresholdMs;
+    /**
+     * 预先格式化的[类名.方法名]
+     */
+    private final String classMethodName;
+    /**
+     * 参数名，无法解析时为arg0、arg1...
+     */
+    private final String[] parameterNames;
+    /**
+     * 字段投影
+     */
+    private final LogPathFilter pathFilter;
+    /**
+     * 统计与二进制日志中的方法标识，见{@link MethodStatRegistry#methodKey}
+     */
+    private final String methodKey;
+    /**
+     * 耗时统计，未启用时为null
+     */
+    private final MethodStat methodStat;
+    /**
+     * 二进制日志中的方法id，未启用时为0
+     */
+    private final int methodId;
+
+    private LogDetail(String clazz, String method, String methodKey, String desc, boolean onlyOnError, boolean snapshotArgs,
+                      double sampleRate, long slowThresholdMs, String[] parameterNames, LogPathFilter pathFilter,
+                      MethodStatRegistry methodStatRegistry, BinaryLogSink binaryLogSink) {
+        this.clazz = clazz;
+        this.method = method;
+        this.desc = desc;
+        this.onlyOnError = onlyOnError;
+        this.snapshotArgs = snapshotArgs;
+        this.sampleRate = Math.min(Math.max(sampleRate, 0D), 1D);
+        this.slowThresholdMs = slowThresholdMs;
+        this.classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, clazz, method);
+        this.methodKey = methodKey == null ? classMethodName : methodKey;
+        this.parameterNames = parameterNames;
+        this.pathFilter = pathFilter;
+        this.methodStat = methodStatRegistry == null ? null : methodStatRegistry.register(this.methodKey);
+        this.methodId = binaryLogSink == null ? 0 : binaryLogSink.register(this.methodKey);
+    }
+
+    /**
+     * 解析被注解方法
+     *
+     * @param method
+     * @param methodStatRegistry 耗时统计注册表，为null时不统计
+     * @param binaryLogSink      二进制日志，为null时不注册方法id
+     * @return
+     */
+    public static LogDetail of(Method method, MethodStatRegistry methodStatRegistry, BinaryLogSink binaryLogSink) {
+        Log log = method.getAnnotation(Log.class);
+        String logDescription = log.description();
+        if (StringUtils.isBlank(logDescription)) {
+            logDescription = log.value();
+            if (StringUtils.isBlank(logDescription)) {
+                logDescription = Strings.EMPTY;
+            }
+        }
+        return new LogDetail(method.getDeclaringClass().getSimpleName(), method.getName(), MethodStatRegistry.methodKey(method), logDescription,
+                log.onlyOnError(), log.snapshotArgs(), log.sampleRate(), log.slowThresholdMs(), resolveParameterNames(method),
+                LogPathFilter.of(log.includes(), log.excludes()), methodStatRegistry, binaryLogSink);
+    }
+
+    /**
+     * 解析失败时的兜底元数据
+     *
+     * @return
+     */
+    public static LogDetail unknown() {
+        return new LogDetail(UNKNOWN_CLASS, UNKNOWN_METHOD, null, UNKNOWN_DESC, false, false, 1D, -1L, new String[0], LogPathFilter.EMPTY, null, null);
+    }
+
+    /**
+     * 记录耗时
+     *
+     * @param costNanos 耗时，单位ns
+     * @param success   是否成功
+     */
+    public void record(long costNanos, boolean success) {
+        if (methodStat != null) {
+            methodStat.record(costNanos, success);
+        }
+    }
+
+    /**
+     * 成功调用是否打印：慢调用始终打印，其余按采样率抽样
+     *
+     * @param cost 耗时，单位ms
+     * @return
+     */
+    public boolean shouldLogSuccess(long cost) {
+        if (onlyOnError) {
+            return false;
+        }
+        if (slowThresholdMs >= 0 && cost >= slowThresholdMs) {
+            return true;
+        }
+        return sampleRate >= 1D || (sampleRate > 0D && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private static String[] resolveParameterNames(Method method) {
+        String[] parameterNames = DISCOVERER.getParameterNames(method);
+        if (parameterNames != null) {
+            return parameterNames;
+        }
+        parameterNames = new String[method.getParameterCount()];
+        for (int i = 0; i < parameterNames.length; i++) {
+            parameterNames[i] = "arg" + i;
+        }
+        return parameterNames;
+    }
+}
@@ -0,0 +1,32 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Data;
+
+/**
+ * @description: 方法调用统计，耗时单位ms
+ * @author: meidanlong
+ * @date: 2026/10/17 4:15 AM
+ */
+@Data
+public class MethodStatDTO {
+
+    /**
+     * 方法标识：声明类全名.方法名(参数类型)，见MethodStatRegistry#methodKey
+     */
+    private String method;
+    private long calls;
+    private long errors;
+    /**
+     * 每秒调用次数
+     */
+    private double throughput;
+    private double p50;
+    private double p90;
+    private double p99;
+    private double max;
+    /**
+     * 窗口开始时间戳
+     */
+    private long windowStart;
+    private double windowSeconds;
+}
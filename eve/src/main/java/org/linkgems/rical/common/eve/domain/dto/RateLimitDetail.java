@@ -0,0 +1,67 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.linkgems.rical.common.eve.component.key.MethodKeyResolver;
+import org.linkgems.rical.common.eve.component.limiter.KeyedRateLimiter;
+import org.linkgems.rical.common.eve.component.limiter.TokenBucket;
+import org.linkgems.rical.common.eve.domain.annotation.RateLimit;
+import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+
+import java.lang.reflect.Method;
+
+/**
+ * @description: @RateLimit方法元数据。每个方法只解析一次，令牌桶在同一方法的所有调用间共享
+ * @author: meidanlong
+ * @date: 2026/10/17 4:30 AM
+ */
+@Getter
+public class RateLimitDetail {
+
+    private final String classMethodName;
+    /**
+     * 方法维度令牌桶，配置了key时为null
+     */
+    private final TokenBucket bucket;
+    /**
+     * key维度限流，未配置key时为null
+     */
+    private final KeyedRateLimiter keyedRateLimiter;
+    private final MethodKeyResolver keyResolver;
+
+    private RateLimitDetail(Method method, RateLimit rateLimit) {
+        if (!(rateLimit.permitsPerSecond() > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, method.getDeclaringClass().getSimpleName(), method.getName());
+        int burst = rateLimit.burst() > 0 ? rateLimit.burst() : (int) Math.max(1D, Math.ceil(rateLimit.permitsPerSecond()));
+        if (StringUtils.isBlank(rateLimit.key())) {
+            this.bucket = new TokenBucket(rateLimit.permitsPerSecond(), burst);
+            this.keyedRateLimiter = null;
+            this.keyResolver = null;
+        } else {
+            this.bucket = null;
+            this.keyedRateLimiter = new KeyedRateLimiter(rateLimit.permitsPerSecond(), burst, rateLimit.maxKeys(), rateLimit.keyIdleMs());
+            this.keyResolver = new MethodKeyResolver(method, rateLimit.key());
+        }
+    }
+
+    public static RateLimitDetail of(Method method) {
+        return new RateLimitDetail(method, method.getAnnotation(RateLimit.class));
+    }
+
+    /**
+     * 获取一个许可
+     *
+     * @param target 被调用对象
+     * @param args   入参
+     * @return 是否放行
+     */
+    public boolean tryAcquire(Object target, Object[] args) {
+        if (bucket != null) {
+            return bucket.tryAcquire();
+        }
+        Object key = keyResolver.resolve(target, args);
+        return keyedRateLimiter.tryAcquire(key == null ? StringUtils.EMPTY : key);
+    }
+}
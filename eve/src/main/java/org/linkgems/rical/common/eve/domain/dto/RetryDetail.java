@@ -0,0 +1,143 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Getter;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.component.retry.RetryBudget;
+import org.linkgems.rical.common.eve.component.retry.RetryStat;
+import org.linkgems.rical.common.eve.component.stat.MethodStatRegistry;
+import org.linkgems.rical.common.eve.domain.annotation.Retry;
+import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @description: @Retry方法元数据。每个方法只解析一次，预算与统计在同一方法的所有调用间共享
+ * @author: meidanlong
+ * @date: 2026/10/17 4:22 AM
+ */
+@Getter
+public class RetryDetail {
+
+    private static final int MAX_RETRY_TIMES = 10;
+    private static final long MAX_DELAY = 60000L;
+
+    private final String clazz;
+    private final String method;
+    private final String classMethodName;
+    private final int totalRetryTimes;
+    private final long emptyWindow;
+    private final Retry.Backoff backoff;
+    private final double multiplier;
+    private final long maxDelay;
+    /**
+     * 重试预算，未启用时为null
+     */
+    private final RetryBudget budget;
+    private final RetryStat stat;
+    /**
+     * 返回CompletableFuture/CompletionStage的方法，按future的结果重试
+     */
+    private final boolean async;
+
+    private RetryDetail(String clazz, String method, String methodKey, int totalRetryTimes, long emptyWindow, Retry.Backoff backoff,
+                        double multiplier, long maxDelay, RetryBudget budget, boolean async, MethodStatRegistry methodStatRegistry) {
+        this.clazz = clazz;
+        this.method = method;
+        this.classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, clazz, method);
+        this.totalRetryTimes = totalRetryTimes;
+        this.emptyWindow = emptyWindow;
+        this.backoff = backoff;
+        this.multiplier = multiplier;
+        this.maxDelay = maxDelay;
+        this.async = async;
+        String statName = methodKey == null ? classMethodName : methodKey;
+        this.stat = methodStatRegistry == null ? new RetryStat(statName) : methodStatRegistry.registerRetry(statName);
+        // 同一统计只绑定一个预算，统计中展示的预算即实际限制重试的预算
+        this.budget = this.stat.bind(budget);
+    }
+
+    /**
+     * 解析被注解方法
+     *
+     * @param method
+     * @param methodStatRegistry 统计注册表，为null时统计不对外暴露
+     * @return
+     */
+    public static RetryDetail of(Method method, MethodStatRegistry methodStatRegistry) {
+        Retry retry = method.getAnnotation(Retry.class);
+        // 重试次数
+        int retryTimes = Math.max(retry.times(), 0);
+        if (retryTimes == 0) {
+            retryTimes = Math.max(retry.value(), 0);
+        }
+        RetryBudget budget = retry.budgetRatio() > 0 ? new RetryBudget(retry.budgetRatio(), retry.budgetCapacity()) : null;
+        return new RetryDetail(method.getDeclaringClass().getSimpleName(), method.getName(), MethodStatRegistry.methodKey(method),
+                Math.min(retryTimes, MAX_RETRY_TIMES),
+                Math.min(Math.max(retry.emptyWindow(), 0), MAX_DELAY),
+                retry.backoff(), Math.max(retry.multiplier(), 1D),
+                Math.min(Math.max(retry.maxDelay(), 0), MAX_DELAY),
+                budget, isAsync(method.getReturnType()), methodStatRegistry);
+    }
+
+    /**
+     * 解析失败时的兜底元数据，失败重试1次
+     *
+     * @return
+     */
+    public static RetryDetail unknown() {
+        return new RetryDetail("unknownClass", "unknownMethod", null, 1, 0L, Retry.Backoff.FIXED, 1D, 0L, null, false, null);
+    }
+
+    private static boolean isAsync(Class<?> returnType) {
+        return CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+
+    /**
+     * 熔断打开、已超时与限流的拒绝是即时的，重试只会空等退避时间，应保留错误码直接抛出
+     *
+     * @param th
+     * @return
+     */
+    public static boolean isNonRetryable(Throwable th) {
+        if (!(th instanceof BaseException)) {
+            return false;
+        }
+        String code = ((BaseException) th).getCode();
+        return ErrorEnum.CIRCUIT_BREAKER_OPEN.getCode().equals(code)
+                || ErrorEnum.DEADLINE_EXCEEDED.getCode().equals(code)
+                || ErrorEnum.RATE_LIMIT_ERROR.getCode().equals(code);
+    }
+
+    /**
+     * 计算第retryTimes次重试前的等待时长
+     *
+     * @param retryTimes    第几次重试，从1开始
+     * @param previousDelay 上一次等待时长
+     * @return 单位ms
+     */
+    public long nextDelay(int retryTimes, long previousDelay) {
+        switch (backoff) {
+            case EXPONENTIAL:
+                return exponential(retryTimes);
+            case EXPONENTIAL_JITTER:
+                long ceiling = exponential(retryTimes);
+                return ceiling <= 0 ? 0L : ThreadLocalRandom.current().nextLong(ceiling + 1);
+            case DECORRELATED_JITTER:
+                long base = Math.max(emptyWindow, 1L);
+                long upper = Math.max(Math.max(previousDelay, base) * 3, base + 1);
+                return Math.min(maxDelay, ThreadLocalRandom.current().nextLong(base, upper));
+            case FIXED:
+            default:
+                return emptyWindow;
+        }
+    }
+
+    private long exponential(int retryTimes) {
+        double delay = emptyWindow * Math.pow(multiplier, Math.max(retryTimes - 1, 0));
+        return (long) Math.min(delay, maxDelay);
+    }
+}
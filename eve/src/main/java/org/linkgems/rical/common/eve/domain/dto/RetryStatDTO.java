@@ -0,0 +1,38 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Data;
+
+/**
+ * @description: 方法重试统计
+ * @author: meidanlong
+ * @date: 2026/10/17 4:22 AM
+ */
+@Data
+public class RetryStatDTO {
+
+    /**
+     * 方法标识：声明类全名.方法名(参数类型)，见MethodStatRegistry#methodKey
+     */
+    private String method;
+    /**
+     * 总执行次数，含首次与重试
+     */
+    private long attempts;
+    private long retries;
+    /**
+     * 因预算不足放弃的重试次数
+     */
+    private long budgetRejections;
+    /**
+     * 因剩余时间不足以完成下一次尝试而放弃的重试次数
+     */
+    private long deadlineRejections;
+    /**
+     * 重试耗尽后仍失败的调用数
+     */
+    private long finalFailures;
+    /**
+     * 当前剩余预算，未启用预算时为-1
+     */
+    private double budgetTokens;
+}
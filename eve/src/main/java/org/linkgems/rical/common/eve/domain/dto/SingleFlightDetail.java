@@ -0,0 +1,62 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.component.key.MethodKeyResolver;
+import org.linkgems.rical.common.eve.domain.annotation.SingleFlight;
+import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description: @SingleFlight方法元数据与该方法进行中的调用。每个方法只解析一次
+ * @author: meidanlong
+ * @date: 2026/10/17 4:40 AM
+ */
+@Getter
+public class SingleFlightDetail {
+
+    /**
+     * key为null时的占位
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private final String classMethodName;
+    private final MethodKeyResolver keyResolver;
+    private final long timeoutMs;
+    /**
+     * 是否返回CompletableFuture/CompletionStage
+     */
+    private final boolean async;
+    /**
+     * key -> 进行中调用的结果，调用结束即移除
+     */
+    private final Map<Object, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    private SingleFlightDetail(Method method, SingleFlight singleFlight) {
+        this.classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, method.getDeclaringClass().getSimpleName(), method.getName());
+        this.keyResolver = new MethodKeyResolver(method, singleFlight.key());
+        this.timeoutMs = singleFlight.timeoutMs();
+        Class<?> returnType = method.getReturnType();
+        this.async = CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+
+    public static SingleFlightDetail of(Method method) {
+        return new SingleFlightDetail(method, method.getAnnotation(SingleFlight.class));
+    }
+
+    /**
+     * 计算合并key
+     *
+     * @param target
+     * @param args
+     * @return
+     */
+    public Object keyOf(Object target, Object[] args) {
+        Object key = keyResolver.resolve(target, args);
+        return key == null ? NULL_KEY : key;
+    }
+}
@@ -0,0 +1,39 @@
+package org.linkgems.rical.common.eve.domain.dto;
+
+import lombok.Getter;
+import org.linkgems.rical.common.eve.domain.annotation.Timeout;
+import org.linkgems.rical.common.eve.domain.constant.AnnotationConstant;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @description: @Timeout方法元数据。每个方法只解析一次
+ * @author: meidanlong
+ * @date: 2026/10/17 4:50 AM
+ */
+@Getter
+public class TimeoutDetail {
+
+    private final String classMethodName;
+    private final long timeoutMs;
+    /**
+     * 是否返回CompletableFuture/CompletionStage
+     */
+    private final boolean async;
+
+    private TimeoutDetail(Method method, Timeout timeout) {
+        if (timeout.value() <= 0) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        this.classMethodName = String.format(AnnotationConstant.CLASS_METHOD_NAME, method.getDeclaringClass().getSimpleName(), method.getName());
+        this.timeoutMs = timeout.value();
+        Class<?> returnType = method.getReturnType();
+        this.async = CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+
+    public static TimeoutDetail of(Method method) {
+        return new TimeoutDetail(method, method.getAnnotation(Timeout.class));
+    }
+}
@@ -8,6 +8,8 @@ import org.linkgems.rical.common.adam.exception.ValidateException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import javax.servlet.http.HttpServletResponse;
+
 /**
  * @description:
  * @author: meidanlong
@@ -23,11 +25,24 @@ public class BaseExceptionHandler {
      * @return
      */
     @ExceptionHandler(BaseException.class)
-    public BaseResponse baseExceptionHandle(BaseException e) {
+    public BaseResponse baseExceptionHandle(BaseException e, HttpServletResponse response) {
+        if (isLoadRejection(e)) {
+            // 过载丢弃、并发限制与调用配额都是预期内的拒绝，不打印堆栈以免加重负载；503便于网关与客户端换实例重试
+            log.warn("请求被入口限流拒绝：{}", e.getMessage());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            return BaseResponse.failure(e);
+        }
         log.error("捕捉到基础异常：", e);
         return BaseResponse.failure(e);
     }
 
+    private boolean isLoadRejection(BaseException e) {
+        return ErrorEnum.LOAD_SHED.getCode().equals(e.getCode())
+                || ErrorEnum.CONCURRENCY_LIMIT_ERROR.getCode().equals(e.getCode())
+                || ErrorEnum.CONSUMER_QUOTA_EXCEEDED.getCode().equals(e.getCode());
+    }
+
     /**
      * 拦截参数异常
      * @param e
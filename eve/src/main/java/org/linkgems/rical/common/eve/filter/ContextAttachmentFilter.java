@@ -0,0 +1,75 @@
+package org.linkgems.rical.common.eve.filter;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.rpc.Filter;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.linkgems.rical.common.adam.domain.BaseException;
+import org.linkgems.rical.common.adam.enums.ErrorEnum;
+import org.linkgems.rical.common.eve.component.deadline.DeadlineContext;
+import org.linkgems.rical.common.eve.component.trace.TraceContext;
+import org.linkgems.rical.common.eve.domain.constant.TraceConstant;
+
+/**
+ * @description: 消费端Dubbo filter，在每次调用发出前把当前上下文写入invocation。
+ * RpcContext中的attachment在一次调用后即被Dubbo清除，只有请求内的第一个下游调用能带上，因此按调用写入：
+ * traceId/spanId与截止时间随每次调用传给下游，已超时时不再发出，调用超时不超过剩余预算
+ * @author: meidanlong
+ * @date: 2026/10/17 5:34 AM
+ */
+@Activate(group = "consumer")
+public class ContextAttachmentFilter implements Filter {
+
+    private static final String TIMEOUT_KEY = "timeout";
+    private static final int DEFAULT_TIMEOUT = 1000;
+
+    @Override
+    public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
+        if (invocation instanceof RpcInvocation) {
+            attachTrace((RpcInvocation) invocation);
+            attachDeadline(invoker, (RpcInvocation) invocation);
+        }
+        return invoker.invoke(invocation);
+    }
+
+    private void attachTrace(RpcInvocation invocation) {
+        String traceId = TraceContext.currentTraceId();
+        if (traceId != null) {
+            invocation.setAttachment(TraceConstant.TRACE_ID, traceId);
+        }
+        String spanId = TraceContext.currentSpanId();
+        if (spanId != null) {
+            invocation.setAttachment(TraceConstant.SPAN_ID, spanId);
+        }
+    }
+
+    private void attachDeadline(Invoker<?> invoker, RpcInvocation invocation) {
+        Long deadline = DeadlineContext.current();
+        if (deadline == null) {
+            return;
+        }
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            throw new BaseException(ErrorEnum.DEADLINE_EXCEEDED);
+        }
+        invocation.setAttachment(DeadlineContext.ATTACHMENT, String.valueOf(deadline));
+        if (remaining < configuredTimeout(invoker, invocation)) {
+            invocation.setAttachment(TIMEOUT_KEY, String.valueOf(remaining));
+        }
+    }
+
+    /**
+     * 调用方通过attachment指定的超时优先，其次为方法/服务配置的超时
+     */
+    private int configuredTimeout(Invoker<?> invoker, RpcInvocation invocation) {
+        String timeout = invocation.getAttachment(TIMEOUT_KEY);
+        if (StringUtils.isNumeric(timeout) && timeout.length() <= 9) {
+            return Integer.parseInt(timeout);
+        }
+        return invoker.getUrl() == null ? DEFAULT_TIMEOUT : invoker.getUrl().getMethodParameter(invocation.getMethodName(), TIMEOUT_KEY, DEFAULT_TIMEOUT);
+    }
+}
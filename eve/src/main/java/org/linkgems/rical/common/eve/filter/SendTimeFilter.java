@@ -0,0 +1,28 @@
+package org.linkgems.rical.common.eve.filter;
+
+import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.rpc.Filter;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.linkgems.rical.common.eve.component.shed.ArrivalTime;
+
+/**
+ * @description: 消费端Dubbo filter，在每次调用发出前写入发出时间，供下游provider计算排队时长（过载丢弃）
+ * @author: meidanlong
+ * @date: 2026/10/17 5:03 AM
+ */
+@Activate(group = "consumer")
+public class SendTimeFilter implements Filter {
+
+    @Override
+    public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
+        // filter包在每个provider的invoker上，集群重试的每次调用都会重新写入；直接写invocation，避免RpcContext已合入后不再覆盖
+        if (invocation instanceof RpcInvocation) {
+            ((RpcInvocation) invocation).setAttachment(ArrivalTime.ATTACHMENT, String.valueOf(System.currentTimeMillis()));
+        }
+        return invoker.invoke(invocation);
+    }
+}
@@ -0,0 +1,110 @@
+package org.linkgems.rical.common.eve.utils;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @description: 线程上下文的类型化key。注册时分配固定槽位，读写即数组下标访问，无需哈希与强转；
+ * 同名key只注册一次，应声明为static final常量
+ * @author: meidanlong
+ * @date: 2026/10/17 4:44 AM
+ */
+@Getter
+public final class ContextKey<T> {
+
+    private static final Map<String, ContextKey<?>> KEYS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+
+    private final String name;
+    private final Class<T> type;
+    private final int slot;
+
+    private ContextKey(String name, Class<T> type) {
+        this.name = name;
+        this.type = type;
+        this.slot = NEXT_SLOT.getAndIncrement();
+    }
+
+    /**
+     * 注册或获取key
+     *
+     * @param name 与Map接口中的字符串key一致
+     * @param type 值类型
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ContextKey<T> of(String name, Class<T> type) {
+        ContextKey<?> key = KEYS.get(name);
+        if (key == null) {
+            key = KEYS.computeIfAbsent(name, n -> new ContextKey<>(n, type));
+        }
+        if (key.type != type) {
+            throw new IllegalArgumentException(String.format("context key %s already registered with type %s", name, key.type.getName()));
+        }
+        return (ContextKey<T>) key;
+    }
+
+    /**
+     * 按名称查找已注册的key
+     *
+     * @param name
+     * @return 未注册时为null
+     */
+    static ContextKey<?> find(String name) {
+        return KEYS.get(name);
+    }
+
+    /**
+     * 兼容通过字符串key写入的旧代码：值类型不符时尽量转换（数字/数字字符串转Long、Integer，其他类型转String）
+     *
+     * @param value
+     * @return 转换后的值，无法转换时为null
+     */
+    Object convert(Object value) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        if (type == Long.class || type == Integer.class) {
+            Long number = null;
+            if (value instanceof Number) {
+                number = ((Number) value).longValue();
+            } else if (value instanceof String) {
+                try {
+                    number = Long.valueOf(((String) value).trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            if (number == null || type == Long.class) {
+                return number;
+            }
+            return number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE ? Integer.valueOf(number.intValue()) : null;
+        }
+        return null;
+    }
+
+    static Collection<ContextKey<?>> all() {
+        return KEYS.values();
+    }
+
+    /**
+     * 已分配的槽位数
+     *
+     * @return
+     */
+    static int slots() {
+        return NEXT_SLOT.get();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
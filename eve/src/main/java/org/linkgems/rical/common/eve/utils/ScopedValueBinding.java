@@ -0,0 +1,74 @@
+package org.linkgems.rical.common.eve.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * @description: 通过MethodHandle使用JDK的java.lang.ScopedValue，在编译目标为Java 8时仍可在新版本JDK上使用。
+ * 绑定只在run期间有效，结束后自动解除，线程上不留下任何状态
+ * @author: meidanlong
+ * @date: 2026/10/17 4:45 AM
+ */
+final class ScopedValueBinding {
+
+    private final Object scopedValue;
+    private final MethodHandle isBound;
+    private final MethodHandle get;
+    private final MethodHandle where;
+    private final MethodHandle run;
+
+    private ScopedValueBinding(Object scopedValue, MethodHandle isBound, MethodHandle get, MethodHandle where, MethodHandle run) {
+        this.scopedValue = scopedValue;
+        this.isBound = isBound;
+        this.get = get;
+        this.where = where;
+        this.run = run;
+    }
+
+    /**
+     * 创建绑定
+     *
+     * @return 当前JDK不支持ScopedValue时为null
+     */
+    static ScopedValueBinding tryCreate() {
+        try {
+            Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+            Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Object scopedValue = lookup.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass)).invoke();
+            MethodHandle isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class)).bindTo(scopedValue);
+            MethodHandle get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class)).bindTo(scopedValue);
+            MethodHandle where = lookup.findStatic(scopedValueClass, "where", MethodType.methodType(carrierClass, scopedValueClass, Object.class));
+            MethodHandle run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class));
+            return new ScopedValueBinding(scopedValue, isBound, get, where, run);
+        } catch (Throwable th) {
+            return null;
+        }
+    }
+
+    /**
+     * 当前线程绑定的值
+     *
+     * @return 未绑定时为null
+     */
+    Object current() {
+        try {
+            return (boolean) isBound.invoke() ? get.invoke() : null;
+        } catch (Throwable th) {
+            return null;
+        }
+    }
+
+    /**
+     * 绑定value后执行task
+     *
+     * @param value
+     * @param task
+     * @throws Throwable
+     */
+    void run(Object value, Runnable task) throws Throwable {
+        Object carrier = where.invoke(scopedValue, value);
+        run.invoke(carrier, task);
+    }
+}
@@ -1,43 +1,478 @@
 package org.linkgems.rical.common.eve.utils;
 
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
- * @description: threadLocal工具类
+ * @description: threadLocal工具类。
+ * 每个线程持有一个可复用的槽位数组，{@link ContextKey}注册的key按槽位读写；未注册的字符串key存放在按需创建的Map中。
+ * 清理上下文只清空槽位，不重新分配。入口处通过{@link #callInScope}划定上下文作用域，结束时恢复，避免线程复用时上下文串扰
  * @author: meidanlong
  * @date: 2022/1/21 2:38 PM
  */
 public class ThreadLocalUtil {
 
-    private static final ThreadLocal<Map<String, Object>> threadLocal = ThreadLocal.withInitial(HashMap::new);
+    public static final ContextKey<String> APP_KEY = ContextKey.of("appKey", String.class);
 
+    public static final ContextKey<String> CONSUMER_APP_KEY = ContextKey.of("consumerAppKey", String.class);
+
+    public static final ContextKey<String> TRACE_ID = ContextKey.of("traceId", String.class);
+
+    public static final ContextKey<String> SPAN_ID = ContextKey.of("spanId", String.class);
+
+    /**
+     * 请求截止时间，epoch毫秒
+     */
+    public static final ContextKey<Long> DEADLINE = ContextKey.of("deadline", Long.class);
+
+    /**
+     * provider/controller入口的嵌套层数
+     */
+    public static final ContextKey<Integer> ENTRY_DEPTH = ContextKey.of("entryDepth", Integer.class);
+
+    private static final ThreadLocal<Context> threadLocal = new ThreadLocal<>();
+
+    /**
+     * 启用后{@link #callInScope}通过ScopedValue绑定上下文，为null时使用ThreadLocal
+     */
+    private static volatile ScopedValueBinding scopedValueBinding;
+
+    /**
+     * 当前线程上下文的Map视图，读写直接作用于上下文，entrySet为快照
+     *
+     * @return
+     */
     public static Map<String, Object> getThreadLocal() {
-        return threadLocal.get();
+        return context().view();
     }
 
     public static Object get(String key) {
-        Map<String, Object> map = threadLocal.get();
-        return map.get(key);
+        return context().get(key);
     }
 
     public static void setThreadLocal(Map<String, Object> keyValueMap) {
-        Map<String, Object> map = threadLocal.get();
-        map.putAll(keyValueMap);
+        Context context = context();
+        for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+            context.put(entry.getKey(), entry.getValue());
+        }
     }
 
     public static void set(String key, Object value) {
-        Map<String, Object> map = threadLocal.get();
-        map.put(key, value);
+        context().put(key, value);
     }
 
+    /**
+     * 清空当前线程上下文，保留槽位数组供下次请求复用
+     */
     public static void removeThreadLocal() {
-        threadLocal.remove();
+        context().reset();
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> T remove(String key) {
-        Map<String, Object> map = threadLocal.get();
-        return (T) map.remove(key);
+        return (T) context().remove(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T get(ContextKey<T> key) {
+        Object[] slots = context().slots;
+        int slot = key.getSlot();
+        return slot < slots.length ? (T) slots[slot] : null;
+    }
+
+    public static <T> void set(ContextKey<T> key, T value) {
+        Context context = context();
+        context.setSlot(key.getSlot(), value);
+        // 清除旧代码写入的无法转换的值
+        context.removeExtra(key.getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T remove(ContextKey<T> key) {
+        Context context = context();
+        context.removeExtra(key.getName());
+        return (T) context.setSlot(key.getSlot(), null);
+    }
+
+    /**
+     * 在独立的上下文作用域中执行，结束时（含异常）恢复进入前的上下文，支持嵌套。
+     * 启用ScopedValue时作用域内的上下文绑定在ScopedValue上，结束后自动解除，线程上不留下状态
+     *
+     * @param call
+     * @return
+     * @throws Throwable
+     */
+    public static Object callInScope(ScopedCall call) throws Throwable {
+        ScopedValueBinding binding = scopedValueBinding;
+        if (binding == null) {
+            Scope scope = openScope();
+            try {
+                return call.call();
+            } finally {
+                scope.close();
+            }
+        }
+        Context parent = (Context) binding.current();
+        if (parent == null) {
+            parent = threadLocal.get();
+        }
+        // 作用域上下文与执行体合为一个对象，与父上下文写时共享槽位数组，父上下文为空时不复制
+        ScopedFrame frame = new ScopedFrame(parent == null ? Snapshot.EMPTY : parent.capture(), call);
+        binding.run(frame, frame);
+        if (frame.error != null) {
+            throw frame.error;
+        }
+        return frame.result;
+    }
+
+    /**
+     * 打开ThreadLocal上下文作用域，关闭时恢复打开前的上下文；须在同一线程内关闭
+     *
+     * @return
+     */
+    public static Scope openScope() {
+        Context context = context();
+        Snapshot previous = context.capture();
+        // 进入前上下文为空（最常见的最外层入口）时关闭即清空，无需分配
+        return previous == Snapshot.EMPTY ? context.emptyScope() : new Scope(context, previous);
+    }
+
+    /**
+     * 捕获当前上下文，O(1)且不复制数据：被捕获的槽位数组与Map在下次写入时才复制（写时复制）
+     *
+     * @return
+     */
+    public static Snapshot capture() {
+        return context().capture();
+    }
+
+    /**
+     * 在当前线程上恢复捕获的上下文，关闭返回的作用域后还原为恢复前的上下文
+     *
+     * @param snapshot
+     * @return
+     */
+    public static Scope attach(Snapshot snapshot) {
+        Scope scope = openScope();
+        context().restore(snapshot);
+        return scope;
+    }
+
+    /**
+     * 当前JDK支持时启用ScopedValue上下文
+     *
+     * @return 是否启用成功
+     */
+    public static boolean enableScopedValue() {
+        if (scopedValueBinding == null) {
+            scopedValueBinding = ScopedValueBinding.tryCreate();
+        }
+        return scopedValueBinding != null;
+    }
+
+    private static Context context() {
+        ScopedValueBinding binding = scopedValueBinding;
+        if (binding != null) {
+            Context scoped = (Context) binding.current();
+            if (scoped != null) {
+                return scoped;
+            }
+        }
+        Context context = threadLocal.get();
+        if (context == null) {
+            context = new Context();
+            threadLocal.set(context);
+        }
+        return context;
+    }
+
+    @FunctionalInterface
+    public interface ScopedCall {
+        Object call() throws Throwable;
+    }
+
+    /**
+     * 不可变的上下文快照，可跨线程传递
+     */
+    public static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(null, null);
+
+        private final Object[] slots;
+        private final Map<String, Object> extras;
+
+        private Snapshot(Object[] slots, Map<String, Object> extras) {
+            this.slots = slots;
+            this.extras = extras;
+        }
+
+        public boolean isEmpty() {
+            return this == EMPTY;
+        }
     }
 
+    /**
+     * ThreadLocal上下文作用域
+     */
+    public static final class Scope implements AutoCloseable {
+        private final Context context;
+        private final Snapshot previous;
+
+        private Scope(Context context, Snapshot previous) {
+            this.context = context;
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            context.restore(previous);
+        }
+    }
+
+    private static class Context {
+        private static final Object[] NO_SLOTS = new Object[0];
+
+        /**
+         * 首次写入时按已注册的key数分配，之后复用
+         */
+        private Object[] slots = NO_SLOTS;
+        /**
+         * 未注册的字符串key，首次使用时创建
+         */
+        private Map<String, Object> extras;
+        /**
+         * 上次清理后是否写入过槽位
+         */
+        private boolean dirty;
+        /**
+         * 槽位数组/Map是否被快照引用，为true时写入前先复制
+         */
+        private boolean slotsShared;
+        private boolean extrasShared;
+        /**
+         * Map视图与空作用域按需创建，ScopedValue模式下每次进入作用域创建的上下文通常用不到
+         */
+        private Map<String, Object> view;
+        private Scope emptyScope;
+
+        private Map<String, Object> view() {
+            if (view == null) {
+                view = new ContextMap(this);
+            }
+            return view;
+        }
+
+        private Scope emptyScope() {
+            if (emptyScope == null) {
+                emptyScope = new Scope(this, Snapshot.EMPTY);
+            }
+            return emptyScope;
+        }
+
+        private Snapshot capture() {
+            if (!dirty && extras == null) {
+                return Snapshot.EMPTY;
+            }
+            slotsShared = dirty;
+            extrasShared = extras != null;
+            return new Snapshot(dirty ? slots : null, extras);
+        }
+
+        private void restore(Snapshot snapshot) {
+            if (snapshot.slots != null && snapshot.slots == slots && snapshot.extras == extras) {
+                // 捕获后未写入过，上下文未变化
+                return;
+            }
+            reset();
+            if (snapshot.slots != null) {
+                slots = snapshot.slots;
+                slotsShared = true;
+                dirty = true;
+            }
+            if (snapshot.extras != null) {
+                extras = snapshot.extras;
+                extrasShared = true;
+            }
+        }
+
+        private Object setSlot(int slot, Object value) {
+            if (slot >= slots.length) {
+                if (value == null) {
+                    return null;
+                }
+                slots = Arrays.copyOf(slots, Math.max(ContextKey.slots(), slot + 1));
+                slotsShared = false;
+            } else if (slotsShared) {
+                slots = slots.clone();
+                slotsShared = false;
+            }
+            Object previous = slots[slot];
+            slots[slot] = value;
+            dirty = true;
+            return previous;
+        }
+
+        private Object get(Object name) {
+            ContextKey<?> key = name instanceof String ? ContextKey.find((String) name) : null;
+            if (key != null) {
+                Object value = key.getSlot() < slots.length ? slots[key.getSlot()] : null;
+                if (value != null) {
+                    return value;
+                }
+            }
+            return extras == null ? null : extras.get(name);
+        }
+
+        /**
+         * 已注册key的值写入槽位，类型不符时先转换；无法转换的值与显式写入的null存入extras，字符串key仍可读回，类型化读取视为不存在
+         */
+        private Object put(String name, Object value) {
+            ContextKey<?> key = ContextKey.find(name);
+            if (key == null) {
+                return writableExtras().put(name, value);
+            }
+            Object converted = key.convert(value);
+            Object previous = get(name);
+            removeExtra(name);
+            if (converted == null) {
+                // 槽位以null表示不存在，显式的null记在extras中，与原HashMap一样containsKey为true
+                setSlot(key.getSlot(), null);
+                writableExtras().put(name, value);
+            } else {
+                setSlot(key.getSlot(), converted);
+            }
+            return previous;
+        }
+
+        private Object remove(Object name) {
+            ContextKey<?> key = name instanceof String ? ContextKey.find((String) name) : null;
+            if (key != null) {
+                Object previous = get(name);
+                setSlot(key.getSlot(), null);
+                removeExtra(name);
+                return previous;
+            }
+            return removeExtra(name);
+        }
+
+        private boolean contains(Object name) {
+            ContextKey<?> key = name instanceof String ? ContextKey.find((String) name) : null;
+            if (key != null && key.getSlot() < slots.length && slots[key.getSlot()] != null) {
+                return true;
+            }
+            return extras != null && extras.containsKey(name);
+        }
+
+        private Object removeExtra(Object name) {
+            return extras == null || !extras.containsKey(name) ? null : writableExtras().remove(name);
+        }
+
+        private Map<String, Object> writableExtras() {
+            if (extras == null) {
+                extras = new HashMap<>();
+            } else if (extrasShared) {
+                extras = new HashMap<>(extras);
+                extrasShared = false;
+            }
+            return extras;
+        }
+
+        private void reset() {
+            if (dirty) {
+                if (slotsShared) {
+                    // 数组仍被快照引用，不能原地清空
+                    slots = new Object[slots.length];
+                    slotsShared = false;
+                } else {
+                    Arrays.fill(slots, null);
+                }
+                dirty = false;
+            }
+            extras = null;
+            extrasShared = false;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (ContextKey<?> key : ContextKey.all()) {
+                if (key.getSlot() < slots.length && slots[key.getSlot()] != null) {
+                    map.put(key.getName(), slots[key.getSlot()]);
+                }
+            }
+            if (extras != null) {
+                map.putAll(extras);
+            }
+            return map;
+        }
+    }
+
+    /**
+     * ScopedValue模式下一次作用域的上下文，同时作为绑定期间执行的任务，保存其结果
+     */
+    private static final class ScopedFrame extends Context implements Runnable {
+        private final ScopedCall call;
+        private Object result;
+        private Throwable error;
+
+        private ScopedFrame(Snapshot parent, ScopedCall call) {
+            this.call = call;
+            if (parent != Snapshot.EMPTY) {
+                super.restore(parent);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                result = call.call();
+            } catch (Throwable th) {
+                error = th;
+            }
+        }
+    }
+
+    /**
+     * 兼容原Map接口的上下文视图
+     */
+    private static final class ContextMap extends AbstractMap<String, Object> {
+        private final Context context;
+
+        private ContextMap(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return context.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return context.contains(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return context.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return context.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            context.reset();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return Collections.unmodifiableMap(context.toMap()).entrySet();
+        }
+    }
 }